@@ -0,0 +1,93 @@
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Calorie and macro totals over a filtered selection: the per-object getter loop the pages used
+// to write, against the scalar and Vector API kernels over FoodCatalog's columns.
+// Needs JMH (jmh-core and jmh-generator-annprocess) on the classpath, e.g. with the jars in lib/:
+//   javac --add-modules jdk.incubator.vector -cp 'lib/*' -d out src/*.java src-vector/*.java bench/*.java
+//   java --add-modules jdk.incubator.vector -cp 'out:lib/*' org.openjdk.jmh.Main MacroKernelBenchmark
+// Rows are 16 bytes across the four columns, so rows * 16 / time is the bandwidth each kernel reaches.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MacroKernelBenchmark {
+    @Param({"100000", "4000000"})
+    private int rows;
+
+    // Fraction of rows selected, scattered at random
+    @Param({"1.0", "0.5", "0.05"})
+    private double density;
+
+    private int[] calories;
+    private float[] protein;
+    private float[] carbs;
+    private float[] fats;
+    private long[] rowMask;
+    private List<FoodItem> selectedItems;
+
+    private final MacroKernel scalar = new ScalarMacroKernel();
+    private final MacroKernel vector = new VectorMacroKernel();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        calories = new int[rows];
+        protein = new float[rows];
+        carbs = new float[rows];
+        fats = new float[rows];
+        rowMask = new long[(rows + 63) >>> 6];
+        selectedItems = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            calories[row] = random.nextInt(900);
+            protein[row] = random.nextInt(400) / 10f;
+            carbs[row] = random.nextInt(900) / 10f;
+            fats[row] = random.nextInt(300) / 10f;
+            if (density >= 1 || random.nextDouble() < density) {
+                rowMask[row >>> 6] |= 1L << row;
+                selectedItems.add(new FoodItem(row + 1, "Food " + row, calories[row], "Snacks", null,
+                        protein[row], carbs[row], fats[row]));
+            }
+        }
+    }
+
+    @Benchmark
+    public FoodCatalog.Totals getterLoop() {
+        FoodCatalog.Totals totals = new FoodCatalog.Totals();
+        for (FoodItem item : selectedItems) {
+            totals.add(1, item.getCalories(), item.getProtein(), item.getCarbs(), item.getFats());
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public FoodCatalog.Totals scalarKernel() {
+        FoodCatalog.Totals totals = new FoodCatalog.Totals();
+        scalar.sum(calories, protein, carbs, fats, rowMask, totals);
+        return totals;
+    }
+
+    @Benchmark
+    public FoodCatalog.Totals vectorKernel() {
+        FoodCatalog.Totals totals = new FoodCatalog.Totals();
+        vector.sum(calories, protein, carbs, fats, rowMask, totals);
+        return totals;
+    }
+}
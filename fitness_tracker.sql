@@ -6,25 +6,41 @@ CREATE DATABASE fitness_tracker;
 -- Use the newly created database
 USE fitness_tracker;
 
--- Create a table for users
+-- Create a table for users (the columns JdbcUserRepository reads and writes)
 CREATE TABLE users (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(100),
-    email VARCHAR(100)
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(100) NOT NULL UNIQUE,
+    full_name VARCHAR(100),
+    age INT
 );
 
 -- Insert a new user into the users table
-INSERT INTO users (name, email) VALUES ('John Doe', 'john.doe@example.com');
+INSERT INTO users (username, password, email, full_name, age) VALUES ('johndoe', 'secret', 'john.doe@example.com', 'John Doe', 30);
 
 -- Query all users from the users table
 SELECT * FROM users;
 
 -- Update a user's information (example)
-UPDATE users SET name = 'Jane Doe', email = 'jane.doe@example.com' WHERE id = 1;
+UPDATE users SET full_name = 'Jane Doe', email = 'jane.doe@example.com' WHERE id = 1;
 
 -- Delete a user from the users table (example)
 DELETE FROM users WHERE id = 1;
 
+-- Create a table for goals, owned by a user
+CREATE TABLE goals (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    target_date DATE NOT NULL,
+    priority VARCHAR(10) NOT NULL,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    INDEX idx_goals_user (user_id),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
 -- Create a table for food choices
 CREATE TABLE food_choices (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -33,9 +49,127 @@ CREATE TABLE food_choices (
     category VARCHAR(50),
     protein DECIMAL(5,2),
     carbs DECIMAL(5,2),
-    fats DECIMAL(5,2)
+    fats DECIMAL(5,2),
+    description TEXT
+);
+
+-- Indexes for server-side food search, used once the catalog is too large to load into the app
+-- (category + max calories filter, and word search over name and description)
+CREATE INDEX idx_food_category_calories ON food_choices (category, calories);
+CREATE INDEX idx_food_calories ON food_choices (calories);
+CREATE FULLTEXT INDEX ft_food_name_description ON food_choices (food_name, description);
+
+-- Change tracking for food_choices, so clients can fetch only what changed since their last sync.
+-- Every insert and update stamps the row with the next value of a single counter, and every delete
+-- leaves a tombstone stamped the same way. Writers hold the counter row's lock until they commit,
+-- so versions become visible in order and a client never skips past an uncommitted change.
+ALTER TABLE food_choices
+    ADD COLUMN row_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+CREATE INDEX idx_food_row_version ON food_choices (row_version);
+
+-- Single-row counter; purged_version is the newest version whose tombstone may have been purged
+CREATE TABLE food_change_version (
+    id TINYINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    purged_version BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO food_change_version (id, version) VALUES (1, 0);
+
+CREATE TABLE food_choices_deleted (
+    id INT PRIMARY KEY,
+    row_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_food_deleted_row_version (row_version)
+);
+
+DELIMITER //
+CREATE TRIGGER food_choices_version_insert BEFORE INSERT ON food_choices FOR EACH ROW
+BEGIN
+    UPDATE food_change_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1;
+    SET NEW.row_version = LAST_INSERT_ID();
+END//
+CREATE TRIGGER food_choices_version_update BEFORE UPDATE ON food_choices FOR EACH ROW
+BEGIN
+    UPDATE food_change_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1;
+    SET NEW.row_version = LAST_INSERT_ID();
+END//
+CREATE TRIGGER food_choices_version_delete AFTER DELETE ON food_choices FOR EACH ROW
+BEGIN
+    UPDATE food_change_version SET version = LAST_INSERT_ID(version + 1) WHERE id = 1;
+    REPLACE INTO food_choices_deleted (id, row_version) VALUES (OLD.id, LAST_INSERT_ID());
+END//
+DELIMITER ;
+
+-- Tombstones can be purged once every client has synced past them; clients older than
+-- purged_version reload the whole catalog instead. For example, to keep a week of deletes:
+-- UPDATE food_change_version SET purged_version = GREATEST(purged_version,
+--     (SELECT COALESCE(MAX(row_version), 0) FROM food_choices_deleted WHERE deleted_at < NOW() - INTERVAL 7 DAY)) WHERE id = 1;
+-- DELETE FROM food_choices_deleted WHERE row_version <= (SELECT purged_version FROM food_change_version WHERE id = 1);
+
+-- Progress of bulk CSV imports (FoodCsvImporter), committed together with each batch of rows,
+-- so an interrupted import of the same file resumes after the last committed batch
+CREATE TABLE food_import_checkpoint (
+    source VARCHAR(512) PRIMARY KEY,
+    file_size BIGINT NOT NULL,
+    file_modified BIGINT NOT NULL,
+    byte_offset BIGINT NOT NULL,
+    rows_imported BIGINT NOT NULL,
+    rows_rejected BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Meals the user has eaten. The food's name and nutrition (for all the servings) are copied when
+-- it's logged, so the log keeps its values when the food is edited or deleted from the catalog.
+CREATE TABLE meal_log (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    food_id INT NULL,
+    food_name VARCHAR(100) NOT NULL,
+    eaten_on DATE NOT NULL,
+    servings DECIMAL(6,2) NOT NULL,
+    calories DECIMAL(10,2) NOT NULL,
+    protein DECIMAL(10,2) NOT NULL,
+    carbs DECIMAL(10,2) NOT NULL,
+    fats DECIMAL(10,2) NOT NULL,
+    INDEX idx_meal_log_user_day (user_id, eaten_on),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    FOREIGN KEY (food_id) REFERENCES food_choices (id) ON DELETE SET NULL
+);
+
+-- Per-user totals of meal_log by day ('D'), ISO week starting Monday ('W') and month ('M'), so
+-- charts read one row per period instead of summing the log. JdbcMealLogRepository keeps them
+-- current in the same transaction as each insert, update and delete of meal_log; periods with
+-- no entries have no row.
+CREATE TABLE meal_rollup (
+    user_id INT NOT NULL,
+    period CHAR(1) NOT NULL,
+    period_start DATE NOT NULL,
+    entries INT NOT NULL,
+    calories DECIMAL(12,2) NOT NULL,
+    protein DECIMAL(12,2) NOT NULL,
+    carbs DECIMAL(12,2) NOT NULL,
+    fats DECIMAL(12,2) NOT NULL,
+    PRIMARY KEY (user_id, period, period_start),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+-- To rebuild the rollups from the log, e.g. after editing meal_log by hand:
+-- DELETE FROM meal_rollup;
+-- INSERT INTO meal_rollup SELECT user_id, 'D', eaten_on, COUNT(*), SUM(calories), SUM(protein), SUM(carbs), SUM(fats)
+--     FROM meal_log GROUP BY user_id, eaten_on;
+-- INSERT INTO meal_rollup SELECT user_id, 'W', DATE_SUB(eaten_on, INTERVAL WEEKDAY(eaten_on) DAY), COUNT(*),
+--     SUM(calories), SUM(protein), SUM(carbs), SUM(fats)
+--     FROM meal_log GROUP BY user_id, DATE_SUB(eaten_on, INTERVAL WEEKDAY(eaten_on) DAY);
+-- INSERT INTO meal_rollup SELECT user_id, 'M', DATE_FORMAT(eaten_on, '%Y-%m-01'), COUNT(*),
+--     SUM(calories), SUM(protein), SUM(carbs), SUM(fats)
+--     FROM meal_log GROUP BY user_id, DATE_FORMAT(eaten_on, '%Y-%m-01');
+
+-- For an existing database created from an older version of this script:
+-- ALTER TABLE food_choices ADD COLUMN description TEXT;
+-- then run the three CREATE INDEX statements above and the change tracking statements,
+-- and create the meal_log and meal_rollup tables
+
 -- Insert a new food item into the food_choices table
 INSERT INTO food_choices (food_name, calories, category, protein, carbs, fats) 
 VALUES ('Apple', 95, 'Snacks', 0.5, 25.0, 0.3);
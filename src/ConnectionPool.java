@@ -0,0 +1,453 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Small bounded JDBC connection pool used behind DatabaseConnection.getConnection().
+// Callers keep using try-with-resources / close() as before; closing a pooled
+// connection hands it back to the pool instead of tearing down the socket.
+// Each physical connection also keeps its prepared statements, keyed by SQL, so repeated
+// queries skip the prepare round trip; closing such a statement just makes it reusable.
+public class ConnectionPool {
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private int totalConnections;
+    private boolean closed;
+
+    private final ScheduledExecutorService evictor;
+
+    public ConnectionPool(String url, String user, String password,
+                          int minSize, int maxSize,
+                          long idleTimeoutMillis, long borrowTimeoutMillis,
+                          int validationTimeoutSeconds, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.execute(this::fillToMinimum);
+        evictor.scheduleWithFixedDelay(() -> {
+            evictIdle();
+            fillToMinimum();
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Borrows a connection, waiting up to the borrow timeout when the pool is exhausted.
+    public Connection borrow() throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
+        while (true) {
+            PooledEntry entry = null;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && totalConnections >= maxSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SQLTransientConnectionException(
+                                "Timed out after " + borrowTimeoutMillis + "ms waiting for a database connection");
+                    }
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                if (!idle.isEmpty()) {
+                    entry = idle.pollFirst();
+                } else {
+                    totalConnections++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                try {
+                    return wrap(new PooledEntry(DriverManager.getConnection(url, user, password)));
+                } catch (SQLException e) {
+                    release();
+                    throw e;
+                }
+            }
+
+            // Validation-on-borrow: stale sockets (server restarts, wait_timeout) get dropped here
+            if (isValid(entry)) {
+                return wrap(entry);
+            }
+            discard(entry);
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            for (PooledEntry entry : idle) {
+                closeQuietly(entry.physical);
+                totalConnections--;
+            }
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+    }
+
+    public int getTotalConnections() {
+        lock.lock();
+        try {
+            return totalConnections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getIdleConnections() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isValid(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void giveBack(PooledEntry entry) {
+        try {
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+            return;
+        }
+
+        entry.lastUsed = System.currentTimeMillis();
+        lock.lock();
+        try {
+            if (closed) {
+                closeQuietly(entry.physical);
+                totalConnections--;
+            } else {
+                // LIFO keeps the hot connections warm and lets the cold ones age out
+                idle.addFirst(entry);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        closeQuietly(entry.physical);
+        release();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Closes connections that sat idle longer than the idle timeout, never going below minSize.
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Deque<PooledEntry> expired = new ArrayDeque<>();
+
+        lock.lock();
+        try {
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext() && totalConnections - expired.size() > minSize) {
+                PooledEntry entry = it.next();
+                if (entry.lastUsed < cutoff) {
+                    it.remove();
+                    expired.add(entry);
+                }
+            }
+            totalConnections -= expired.size();
+        } finally {
+            lock.unlock();
+        }
+
+        for (PooledEntry entry : expired) {
+            closeQuietly(entry.physical);
+        }
+    }
+
+    // Opens connections in the background until minSize are alive, so logins don't pay for the handshake.
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalConnections >= minSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                giveBack(new PooledEntry(DriverManager.getConnection(url, user, password)));
+            } catch (SQLException e) {
+                // Database not reachable yet; the next eviction run will try again
+                release();
+                return;
+            }
+        }
+    }
+
+    private Connection wrap(PooledEntry entry) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeasedConnectionHandler(entry)
+        );
+    }
+
+    private class PooledEntry {
+        private final Connection physical;
+        private long lastUsed;
+
+        // Least recently used first; only touched by the thread holding the lease
+        private final Map<String, CachedStatement> statements = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                // Still open in the caller's hands: it is closed for real when they close it
+                eldest.getValue().evicted = true;
+                if (!eldest.getValue().inUse) {
+                    closeQuietly(eldest.getValue().physical);
+                }
+                return true;
+            }
+        };
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        // Reuses the cached statement for this SQL if it is free, otherwise prepares a new one
+        PreparedStatement prepare(Connection owner, String key, Method method, Object[] args) throws Throwable {
+            if (statementCacheSize <= 0) {
+                return (PreparedStatement) invokePhysical(physical, method, args);
+            }
+            CachedStatement cached = statements.get(key);
+            if (cached == null || cached.inUse || cached.physical.isClosed()) {
+                PreparedStatement statement = (PreparedStatement) invokePhysical(physical, method, args);
+                if (cached != null && cached.inUse) {
+                    // Same SQL prepared twice at once: the second one is not cached
+                    return statement;
+                }
+                cached = new CachedStatement(statement);
+                statements.put(key, cached);
+            }
+            cached.inUse = true;
+            return cached.lease(owner);
+        }
+    }
+
+    private static class CachedStatement {
+        private final PreparedStatement physical;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        PreparedStatement lease(Connection owner) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new LeasedStatementHandler(this, owner)
+            );
+        }
+    }
+
+    // Forwards to the cached statement; close() resets it for the next caller instead of closing it
+    private static class LeasedStatementHandler implements InvocationHandler {
+        private final CachedStatement statement;
+        private final Connection owner;
+        private boolean returned;
+
+        LeasedStatementHandler(CachedStatement statement, Connection owner) {
+            this.statement = statement;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.physical.isClosed();
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + statement.physical;
+            }
+            if (returned) {
+                throw new SQLException("Statement has already been closed");
+            }
+            return invokePhysical(statement.physical, method, args);
+        }
+
+        private void release() throws SQLException {
+            statement.inUse = false;
+            if (statement.evicted) {
+                statement.physical.close();
+                return;
+            }
+            try {
+                statement.physical.clearParameters();
+                statement.physical.clearBatch();
+                statement.physical.setFetchSize(0);
+                statement.physical.setMaxRows(0);
+            } catch (SQLException e) {
+                // Unusable from now on; the next prepare replaces it
+                closeQuietly(statement.physical);
+            }
+        }
+    }
+
+    private static Object invokePhysical(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    // Forwards everything to the physical connection except close(), which returns it to the pool.
+    private class LeasedConnectionHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned;
+
+        LeasedConnectionHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + entry.physical;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (method.getName().equals("prepareStatement")) {
+                String key = statementKey(args);
+                if (key != null) {
+                    return entry.prepare((Connection) proxy, key, method, args);
+                }
+            }
+            return invokePhysical(entry.physical, method, args);
+        }
+
+        // prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached;
+        // the rarer column-list and result-set-type variants go straight to the driver
+        private String statementKey(Object[] args) {
+            if (args.length == 1) {
+                return (String) args[0];
+            }
+            if (args.length == 2 && args[1] instanceof Integer) {
+                return args[1] + ":" + args[0];
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+import javax.swing.*;
+import java.awt.*;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Runs database work off the Swing event dispatch thread and hands the results back on it.
+// Pages submit their JDBC work here instead of calling DatabaseConnection from action listeners.
+public final class DataAccess {
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private DataAccess() {
+    }
+
+    // Unit of JDBC work that runs with a pooled connection
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    // Borrows a pooled connection on a worker thread and runs the work with it.
+    // Page logic goes through the repositories instead; this is for JDBC-only tools.
+    public static <T> CompletableFuture<T> query(SqlWork<T> work) {
+        return supply(() -> {
+            try (Connection connection = DatabaseConnection.borrow()) {
+                return work.execute(connection);
+            }
+        });
+    }
+
+    // Runs the task on the data-access executor. Cancelling the returned future interrupts the worker.
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Delivers the outcome on the EDT. Cancelled futures call neither callback.
+    public static <T> CompletableFuture<T> onEdt(CompletableFuture<T> future,
+                                                 Consumer<? super T> onSuccess,
+                                                 Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        }));
+        return future;
+    }
+
+    // Shows a wait cursor on the window and disables the given controls until the future completes
+    public static <T> CompletableFuture<T> whileBusy(CompletableFuture<T> future, Component owner, JComponent... controls) {
+        BusyState.begin(owner, controls);
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> BusyState.end(owner, controls)));
+        return future;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // Virtual threads when the runtime has them (JDK 21+), otherwise a small bounded daemon pool
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            int threads = Integer.getInteger("fitness.db.pool.maxSize", 10);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread thread = new Thread(r, "data-access-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    // Futures owned by one page, so they can all be cancelled when the page is disposed
+    public static class TaskGroup {
+        private final Set<CompletableFuture<?>> pending = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+        public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+            pending.add(future);
+            future.whenComplete((value, error) -> pending.remove(future));
+            return future;
+        }
+
+        public void cancelAll() {
+            for (CompletableFuture<?> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+
+    // Reference-counted busy indicator, so overlapping tasks don't clear each other's state
+    private static class BusyState {
+        private static final IdentityHashMap<Component, Integer> ACTIVE = new IdentityHashMap<>();
+
+        static void begin(Component owner, JComponent... controls) {
+            ACTIVE.merge(owner, 1, Integer::sum);
+            owner.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            for (JComponent control : controls) {
+                control.setEnabled(false);
+            }
+        }
+
+        static void end(Component owner, JComponent... controls) {
+            for (JComponent control : controls) {
+                control.setEnabled(true);
+            }
+            Integer count = ACTIVE.get(owner);
+            if (count == null || count <= 1) {
+                ACTIVE.remove(owner);
+                owner.setCursor(Cursor.getDefaultCursor());
+            } else {
+                ACTIVE.put(owner, count - 1);
+            }
+        }
+    }
+}
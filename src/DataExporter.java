@@ -0,0 +1,273 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.zip.GZIPOutputStream;
+
+// Streams a table from a forward-only ResultSet straight to a CSV or JSON Lines file.
+// Rows are written as they arrive, so memory use doesn't depend on the size of the table.
+// The file is written next to the target and moved into place once complete, so a nightly job
+// never picks up half an export.
+public class DataExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Fetch size for drivers that page through a cursor; MySQL streams row by row instead
+    private static final int FETCH_SIZE = 1000;
+
+    public enum Format { CSV, JSONL }
+
+    // What can be exported. USERS deliberately leaves out users.password, which is stored in
+    // plain text, so passwords are never written to an export file.
+    public enum Dataset {
+        FOODS("SELECT id, food_name, calories, category, protein, carbs, fats, description FROM food_choices ORDER BY id", null),
+        USERS("SELECT id, username, email, full_name, age FROM users ORDER BY id", "username");
+
+        private final String sql;
+        // Column that selects a single user's rows, or null if the data isn't per user
+        private final String userColumn;
+
+        Dataset(String sql, String userColumn) {
+            this.sql = sql;
+            this.userColumn = userColumn;
+        }
+
+        String sql(boolean forUser) {
+            if (!forUser) {
+                return sql;
+            }
+            if (userColumn == null) {
+                throw new IllegalArgumentException(name().toLowerCase() + " is not per-user data");
+            }
+            int orderBy = sql.lastIndexOf(" ORDER BY ");
+            return sql.substring(0, orderBy) + " WHERE " + userColumn + " = ?" + sql.substring(orderBy);
+        }
+    }
+
+    private final Dataset dataset;
+    private final Format format;
+    private final boolean gzip;
+    // Only this user's rows when set
+    private final String username;
+
+    public DataExporter(Dataset dataset, Format format, boolean gzip, String username) {
+        this.dataset = dataset;
+        this.format = format;
+        this.gzip = gzip;
+        this.username = username;
+    }
+
+    // Writes the export to target and returns the number of rows written
+    public long export(Connection connection, Path target) throws IOException, SQLException {
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        long rows;
+        try (PreparedStatement statement = connection.prepareStatement(
+                dataset.sql(username != null), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            if (username != null) {
+                statement.setString(1, username);
+            }
+            // Connector/J only streams (instead of buffering the whole result) with this exact fetch size
+            boolean mysql = connection.getMetaData().getDriverName().toLowerCase().contains("mysql");
+            statement.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+
+            try (ResultSet resultSet = statement.executeQuery();
+                 Writer writer = open(partial)) {
+                rows = format == Format.CSV ? writeCsv(resultSet, writer) : writeJsonLines(resultSet, writer);
+            }
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rows;
+    }
+
+    private Writer open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static long writeCsv(ResultSet resultSet, Writer writer) throws IOException, SQLException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                writer.write(',');
+            }
+            writeCsvField(writer, meta.getColumnLabel(i));
+        }
+        writer.write('\n');
+
+        long rows = 0;
+        while (resultSet.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                String value = resultSet.getString(i);
+                if (value != null) {
+                    writeCsvField(writer, value);
+                }
+            }
+            writer.write('\n');
+            rows++;
+        }
+        return rows;
+    }
+
+    // Quotes only fields that need it, doubling embedded quotes (RFC 4180)
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static long writeJsonLines(ResultSet resultSet, Writer writer) throws IOException, SQLException {
+        ResultSetMetaData meta = resultSet.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] keys = new String[columns + 1];
+        boolean[] numeric = new boolean[columns + 1];
+        for (int i = 1; i <= columns; i++) {
+            keys[i] = jsonString(meta.getColumnLabel(i)) + ":";
+            numeric[i] = isNumeric(meta.getColumnType(i));
+        }
+
+        long rows = 0;
+        while (resultSet.next()) {
+            writer.write('{');
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write(keys[i]);
+                String value = resultSet.getString(i);
+                if (value == null) {
+                    writer.write("null");
+                } else if (numeric[i]) {
+                    writer.write(value);
+                } else {
+                    writeJsonString(writer, value);
+                }
+            }
+            writer.write("}\n");
+            rows++;
+        }
+        return rows;
+    }
+
+    private static boolean isNumeric(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String jsonString(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        writeJsonString(out, value);
+        return out.toString();
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    // Headless export, e.g. for a nightly cron job:
+    //   java DataExporter foods jsonl /backups/foods.jsonl.gz
+    //   java DataExporter users csv /backups/jane.csv --user jane
+    // A target ending in .gz is gzipped.
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: java DataExporter <foods|users> <csv|jsonl> <output file> [--user <username>]");
+            System.exit(2);
+        }
+        Dataset dataset = Dataset.valueOf(args[0].toUpperCase());
+        Format format = Format.valueOf(args[1].toUpperCase());
+        Path target = Paths.get(args[2]);
+        String username = null;
+        if (args.length >= 5 && args[3].equals("--user")) {
+            username = args[4];
+        }
+        DataExporter exporter = new DataExporter(dataset, format, target.toString().endsWith(".gz"), username);
+
+        long started = System.nanoTime();
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            if (connection == null) {
+                throw new SQLException("Could not connect to the database");
+            }
+            long rows = exporter.export(connection, target);
+            System.out.printf("Exported %,d rows to %s in %.1fs%n", rows, target, (System.nanoTime() - started) / 1e9);
+        }
+    }
+}
@@ -1,10 +1,10 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
     // Change "FitnessAppDB" to your actual database name if different
-    private static final String URL = "jdbc:mysql://localhost:3306/fitness_tracker";
+    // rewriteBatchedStatements lets Connector/J send a whole executeBatch() in one round trip
+    private static final String URL = "jdbc:mysql://localhost:3306/fitness_tracker?rewriteBatchedStatements=true";
 
     // Change "root" if you're using a different MySQL username
     private static final String USER = "root";
@@ -12,17 +12,89 @@ public class DatabaseConnection {
     // Replace "******" with your actual MySQL password
     private static final String PASSWORD = "343540";
 
+    // -Dfitness.db.mode=embedded runs on a local H2 file database instead of the MySQL server above:
+    // no server to install, no network hop, and the schema is created on first start
+    private static final boolean EMBEDDED = "embedded".equalsIgnoreCase(System.getProperty("fitness.db.mode", "mysql"));
+    private static final String EMBEDDED_PATH = System.getProperty("fitness.db.embeddedPath",
+            System.getProperty("user.home") + "/.fitness-tracker/fitness");
+
+    // Pool settings, overridable with -Dfitness.db.pool.<name>=<value>
+    private static final int POOL_MIN_SIZE = Integer.getInteger("fitness.db.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("fitness.db.pool.maxSize", 10);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("fitness.db.pool.idleTimeoutMs", 5 * 60 * 1000L);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("fitness.db.pool.borrowTimeoutMs", 5000L);
+    private static final int POOL_VALIDATION_TIMEOUT_S = Integer.getInteger("fitness.db.pool.validationTimeoutSeconds", 2);
+    // Prepared statements kept per pooled connection; 0 disables the cache
+    private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("fitness.db.pool.statementCacheSize", 32);
+
+    // Created on first use so pages that never touch the database don't open sockets
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(POOL::close, "db-pool-shutdown"));
+        }
+
+        // The embedded schema is brought up to date before the first connection is handed out.
+        // If that fails nothing would work against the half-built schema, so the pool isn't created
+        // and every later use of it fails with the migration error instead.
+        private static ConnectionPool createPool() {
+            if (EMBEDDED) {
+                try {
+                    EmbeddedDatabase.migrate(EmbeddedDatabase.url(EMBEDDED_PATH), "sa", "");
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not set up the embedded database at "
+                            + EMBEDDED_PATH + ": " + e.getMessage(), e);
+                }
+            }
+            return new ConnectionPool(
+                    EMBEDDED ? EmbeddedDatabase.url(EMBEDDED_PATH) : URL,
+                    EMBEDDED ? "sa" : USER,
+                    EMBEDDED ? "" : PASSWORD,
+                    POOL_MIN_SIZE, POOL_MAX_SIZE,
+                    POOL_IDLE_TIMEOUT_MS, POOL_BORROW_TIMEOUT_MS,
+                    POOL_VALIDATION_TIMEOUT_S, POOL_STATEMENT_CACHE_SIZE
+            );
+        }
+    }
+
+    // In embedded mode, creates or migrates the local database now so a failure stops startup
+    // with its own message rather than surfacing later as SQL errors on whichever page runs first.
+    // A no-op against MySQL, whose pool is still only created on first use.
+    public static void prepare() {
+        if (!EMBEDDED) {
+            return;
+        }
+        try {
+            // Loading PoolHolder runs the migrations
+            getPool();
+        } catch (ExceptionInInitializerError e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
     public static Connection getConnection() {
         Connection connection = null;
         try {
             // Optional: You might want to add this line for older versions of JDBC
             // Class.forName("com.mysql.cj.jdbc.Driver");
 
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            // Connections are pooled; close() returns them to the pool
+            connection = PoolHolder.POOL.borrow();
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return connection;
     }
 
-}
\ No newline at end of file
+    // Like getConnection(), but reports a failure instead of returning null
+    public static Connection borrow() throws SQLException {
+        return PoolHolder.POOL.borrow();
+    }
+
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
+    }
+
+}
@@ -0,0 +1,154 @@
+// Reduces a run of time-ordered points to about as many as the chart has pixels, so the cost of
+// drawing a series depends on the chart's width rather than on how much history there is.
+// Both methods pick existing points (never averages), write their indexes in time order to out,
+// and return how many they wrote. They never pick more than max(threshold, 2) points, or 4 per
+// pixel column for min/max; out must be large enough for that.
+public final class Downsampler {
+    private Downsampler() {
+    }
+
+    public enum Mode {
+        // Largest-Triangle-Three-Buckets: keeps the shape of smooth lines
+        LTTB,
+        // Lowest and highest point per pixel column: keeps every spike, for noisy data
+        MIN_MAX
+    }
+
+    // Upper bound on the points the given mode can pick for a chart this many pixels wide
+    public static int capacity(Mode mode, int pixels) {
+        return mode == Mode.LTTB ? Math.max(pixels, 2) : 4 * Math.max(pixels, 1);
+    }
+
+    public static int downsample(Mode mode, long[] times, double[] values, int from, int to, int pixels, int[] out) {
+        return mode == Mode.LTTB
+                ? lttb(times, values, from, to, pixels, out)
+                : minMax(times, values, from, to, pixels, out);
+    }
+
+    // Sveinn Steinarsson's LTTB over points [from, to). The first and last points are always kept;
+    // the rest are split into threshold - 2 buckets, and from each the point that forms the largest
+    // triangle with the previously kept point and the average of the next bucket is chosen.
+    public static int lttb(long[] times, double[] values, int from, int to, int threshold, int[] out) {
+        int n = to - from;
+        if (n <= 0) {
+            return 0;
+        }
+        if (threshold >= n || threshold < 3) {
+            int count = Math.min(n, Math.max(threshold, 2));
+            if (count == n) {
+                for (int i = 0; i < n; i++) {
+                    out[i] = from + i;
+                }
+            } else {
+                out[0] = from;
+                out[1] = to - 1;
+            }
+            return count;
+        }
+
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        long origin = times[from];
+        int count = 0;
+        int kept = from;
+        out[count++] = kept;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = from + 1 + (int) (bucket * bucketSize);
+            int end = from + 1 + (int) ((bucket + 1) * bucketSize);
+
+            // Average of the next bucket (the last point, for the final bucket)
+            int nextStart = end;
+            int nextEnd = Math.min(from + 1 + (int) ((bucket + 2) * bucketSize), to);
+            if (nextStart >= nextEnd) {
+                nextStart = to - 1;
+                nextEnd = to;
+            }
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += times[i] - origin;
+                avgY += values[i];
+            }
+            avgX /= nextEnd - nextStart;
+            avgY /= nextEnd - nextStart;
+
+            double keptX = times[kept] - origin;
+            double keptY = values[kept];
+            double largest = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle's area; the factor doesn't change which point wins
+                double area = Math.abs((keptX - avgX) * (values[i] - keptY)
+                        - (keptX - (times[i] - origin)) * (avgY - keptY));
+                if (area > largest) {
+                    largest = area;
+                    chosen = i;
+                }
+            }
+            out[count++] = chosen;
+            kept = chosen;
+        }
+
+        out[count++] = to - 1;
+        return count;
+    }
+
+    // Splits the time span of [from, to) into one bucket per pixel column and keeps each column's
+    // first, lowest, highest and last point, which draws exactly like every point would.
+    public static int minMax(long[] times, double[] values, int from, int to, int pixels, int[] out) {
+        int n = to - from;
+        if (n <= 0) {
+            return 0;
+        }
+        if (n <= 4 * pixels) {
+            for (int i = 0; i < n; i++) {
+                out[i] = from + i;
+            }
+            return n;
+        }
+
+        long start = times[from];
+        double span = Math.max(1, times[to - 1] - start);
+        int count = 0;
+        int i = from;
+        while (i < to) {
+            int column = column(times[i], start, span, pixels);
+            int first = i;
+            int low = i;
+            int high = i;
+            int last = i;
+            for (i++; i < to && column(times[i], start, span, pixels) == column; i++) {
+                if (values[i] < values[low]) {
+                    low = i;
+                }
+                if (values[i] > values[high]) {
+                    high = i;
+                }
+                last = i;
+            }
+            count = appendInOrder(out, count, first, low, high, last);
+        }
+        return count;
+    }
+
+    private static int column(long time, long start, double span, int pixels) {
+        return Math.min(pixels - 1, (int) ((time - start) / span * pixels));
+    }
+
+    // Appends the distinct indexes in ascending order
+    private static int appendInOrder(int[] out, int count, int first, int low, int high, int last) {
+        int a = Math.min(low, high);
+        int b = Math.max(low, high);
+        out[count++] = first;
+        if (a != first) {
+            out[count++] = a;
+        }
+        if (b != a && b != first) {
+            out[count++] = b;
+        }
+        if (last != b && last != first) {
+            out[count++] = last;
+        }
+        return count;
+    }
+}
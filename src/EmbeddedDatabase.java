@@ -0,0 +1,157 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Local H2 file database for single-user installs (-Dfitness.db.mode=embedded).
+// It has the same tables as fitness_tracker.sql, created on first start by the migrations below.
+//
+// Differences from the MySQL schema:
+// - No change-version triggers. This process is the only writer, and its writes go through the
+//   catalog cache, so food_change_version just stays at 0 and delta syncs find nothing to do.
+// - No FULLTEXT index; ServerFoodSearch falls back to LIKE.
+public final class EmbeddedDatabase {
+    public static final String DRIVER = "org.h2.Driver";
+
+    // Applied in order and recorded in schema_version. H2 commits DDL as it goes, so every statement
+    // is idempotent and a migration that failed half way is simply run again on the next start.
+    // Append new migrations at the end; never edit one that has shipped.
+    private static final String[][] MIGRATIONS = {
+            {
+                    "CREATE TABLE IF NOT EXISTS users (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "username VARCHAR(50) NOT NULL UNIQUE, " +
+                            "password VARCHAR(255) NOT NULL, " +
+                            "email VARCHAR(100) NOT NULL UNIQUE, " +
+                            "full_name VARCHAR(100), " +
+                            "age INT)",
+                    "CREATE TABLE IF NOT EXISTS goals (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "user_id INT NOT NULL, " +
+                            "title VARCHAR(200) NOT NULL, " +
+                            "description TEXT, " +
+                            "target_date DATE NOT NULL, " +
+                            "priority VARCHAR(10) NOT NULL, " +
+                            "completed BOOLEAN NOT NULL DEFAULT FALSE, " +
+                            "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE)",
+                    "CREATE INDEX IF NOT EXISTS idx_goals_user ON goals (user_id)",
+                    "CREATE TABLE IF NOT EXISTS food_choices (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "food_name VARCHAR(100), " +
+                            "calories INT, " +
+                            "category VARCHAR(50), " +
+                            "protein DECIMAL(5,2), " +
+                            "carbs DECIMAL(5,2), " +
+                            "fats DECIMAL(5,2), " +
+                            "description TEXT, " +
+                            "row_version BIGINT NOT NULL DEFAULT 0, " +
+                            "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)",
+                    "CREATE INDEX IF NOT EXISTS idx_food_category_calories ON food_choices (category, calories)",
+                    "CREATE INDEX IF NOT EXISTS idx_food_calories ON food_choices (calories)",
+                    "CREATE INDEX IF NOT EXISTS idx_food_row_version ON food_choices (row_version)",
+                    "CREATE TABLE IF NOT EXISTS food_change_version (" +
+                            "id TINYINT PRIMARY KEY, " +
+                            "version BIGINT NOT NULL, " +
+                            "purged_version BIGINT NOT NULL DEFAULT 0)",
+                    "INSERT IGNORE INTO food_change_version (id, version) VALUES (1, 0)",
+                    "CREATE TABLE IF NOT EXISTS food_choices_deleted (" +
+                            "id INT PRIMARY KEY, " +
+                            "row_version BIGINT NOT NULL, " +
+                            "deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)",
+                    "CREATE INDEX IF NOT EXISTS idx_food_deleted_row_version ON food_choices_deleted (row_version)",
+                    "CREATE TABLE IF NOT EXISTS food_import_checkpoint (" +
+                            "source VARCHAR(512) PRIMARY KEY, " +
+                            "file_size BIGINT NOT NULL, " +
+                            "file_modified BIGINT NOT NULL, " +
+                            "byte_offset BIGINT NOT NULL, " +
+                            "rows_imported BIGINT NOT NULL, " +
+                            "rows_rejected BIGINT NOT NULL, " +
+                            "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)"
+            },
+            {
+                    "CREATE TABLE IF NOT EXISTS meal_log (" +
+                            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+                            "user_id INT NOT NULL, " +
+                            "food_id INT NULL, " +
+                            "food_name VARCHAR(100) NOT NULL, " +
+                            "eaten_on DATE NOT NULL, " +
+                            "servings DECIMAL(6,2) NOT NULL, " +
+                            "calories DECIMAL(10,2) NOT NULL, " +
+                            "protein DECIMAL(10,2) NOT NULL, " +
+                            "carbs DECIMAL(10,2) NOT NULL, " +
+                            "fats DECIMAL(10,2) NOT NULL, " +
+                            "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE, " +
+                            "FOREIGN KEY (food_id) REFERENCES food_choices (id) ON DELETE SET NULL)",
+                    "CREATE INDEX IF NOT EXISTS idx_meal_log_user_day ON meal_log (user_id, eaten_on)",
+                    "CREATE TABLE IF NOT EXISTS meal_rollup (" +
+                            "user_id INT NOT NULL, " +
+                            "period CHAR(1) NOT NULL, " +
+                            "period_start DATE NOT NULL, " +
+                            "entries INT NOT NULL, " +
+                            "calories DECIMAL(12,2) NOT NULL, " +
+                            "protein DECIMAL(12,2) NOT NULL, " +
+                            "carbs DECIMAL(12,2) NOT NULL, " +
+                            "fats DECIMAL(12,2) NOT NULL, " +
+                            "PRIMARY KEY (user_id, period, period_start), " +
+                            "FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE)"
+            }
+    };
+
+    private EmbeddedDatabase() {
+    }
+
+    // H2 in MySQL compatibility mode, so the repositories' SQL runs unchanged. IGNORECASE matches
+    // MySQL's default collation: case-insensitive LIKE searches and unique usernames.
+    public static String url(String path) {
+        return "jdbc:h2:file:" + path + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_ON_EXIT=FALSE";
+    }
+
+    // Creates or upgrades the schema; a no-op (one query) once the database is current
+    public static void migrate(String url, String user, String password) throws SQLException {
+        try {
+            Class.forName(DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Embedded mode needs the H2 driver (com.h2database:h2) on the classpath", e);
+        }
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INT PRIMARY KEY, applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            }
+
+            int current = 0;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                if (resultSet.next()) {
+                    current = resultSet.getInt(1);
+                }
+            }
+
+            for (int version = current + 1; version <= MIGRATIONS.length; version++) {
+                apply(connection, version, MIGRATIONS[version - 1]);
+            }
+        }
+    }
+
+    private static void apply(Connection connection, int version, String[] statements) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement record = connection.prepareStatement("INSERT INTO schema_version (version) VALUES (?)")) {
+                record.setInt(1, version);
+                record.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Embedded schema migration " + version + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
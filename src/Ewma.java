@@ -0,0 +1,32 @@
+// Exponentially weighted moving average: each value counts alpha, and everything before it 1 - alpha.
+// O(1) memory; the first value seeds the average.
+public class Ewma {
+    private final double alpha;
+    private double value;
+    private long count;
+
+    public Ewma(double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+
+    // The alpha whose average has the same centre of mass as a simple average over span values
+    public static Ewma ofSpan(int span) {
+        return new Ewma(2.0 / (span + 1));
+    }
+
+    public void add(double x) {
+        value = count++ == 0 ? x : value + alpha * (x - value);
+    }
+
+    // NaN until a value has been added
+    public double get() {
+        return count == 0 ? Double.NaN : value;
+    }
+
+    public long count() {
+        return count;
+    }
+}
@@ -2,6 +2,14 @@ import javax.swing.*;
 
 public class FitnessApp {
     public static void main(String[] args) {
+        try {
+            DatabaseConnection.prepare();
+        } catch (IllegalStateException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Database Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+
         SwingUtilities.invokeLater(() -> {
             // Start with the login page
             new LoginPage();
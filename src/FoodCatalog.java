@@ -0,0 +1,432 @@
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Column-oriented copy of the food catalog for the filtering and aggregation hot paths.
+// Every attribute lives in its own primitive array indexed by row, rows are kept in ascending
+// id order, categories are dictionary-encoded and names share one UTF-8 byte arena.
+// Filters are answered from secondary indexes over row numbers: a bitmap per category and
+// a calorie-sorted row order, so "calories <= max" is a prefix of that order.
+public class FoodCatalog {
+    public static final int ANY_CATEGORY = -1;
+    public static final int UNKNOWN_CATEGORY = -2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] calories = new int[INITIAL_CAPACITY];
+    private float[] protein = new float[INITIAL_CAPACITY];
+    private float[] carbs = new float[INITIAL_CAPACITY];
+    private float[] fats = new float[INITIAL_CAPACITY];
+    private short[] categoryCodes = new short[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+    private int rows;
+    private int deletedRows;
+
+    private byte[] nameBytes = new byte[INITIAL_CAPACITY * 16];
+    private int nameBytesUsed;
+
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryLookup = new HashMap<>();
+
+    // Secondary indexes. Writers maintain the bitmaps under the write lock; queries refresh the
+    // lazily rebuilt parts under the read lock, serialized by indexLock.
+    private final List<BitSet> categoryRows = new ArrayList<>();
+    private final BitSet liveRows = new BitSet();
+    private boolean rowsShifted;
+    private int[] caloriesSorted = new int[0];
+    private int[] rowsByCalories = new int[0];
+    private boolean calorieOrderStale = true;
+    private final BitSet calorieRows = new BitSet();
+    private int calorieRowsPrefix;
+    private final Object indexLock = new Object();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Adds the item, or overwrites its columns if the id is already present
+    public void put(int id, String name, int kcal, String category, double proteinGrams, double carbGrams, double fatGrams) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row < 0) {
+                row = insertRow(-row - 1, id);
+            } else {
+                if (deleted[row]) {
+                    // A tombstoned row keeps its id until compaction, so re-adding the id revives it
+                    deleted[row] = false;
+                    deletedRows--;
+                }
+                categoryRows.get(categoryCodes[row]).clear(row);
+            }
+            int code = encodeCategory(category);
+            calories[row] = kcal;
+            protein[row] = (float) proteinGrams;
+            carbs[row] = (float) carbGrams;
+            fats[row] = (float) fatGrams;
+            categoryCodes[row] = (short) code;
+            storeName(row, name);
+
+            liveRows.set(row);
+            categoryRows.get(code).set(row);
+            calorieOrderStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row >= 0 && !deleted[row]) {
+                // Tombstone now, reclaim the slots in bulk once enough have piled up
+                deleted[row] = true;
+                deletedRows++;
+                liveRows.clear(row);
+                categoryRows.get(categoryCodes[row]).clear(row);
+                if (deletedRows > INITIAL_CAPACITY && deletedRows > rows / 4) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rows = 0;
+            deletedRows = 0;
+            nameBytesUsed = 0;
+            rowsShifted = true;
+            calorieOrderStale = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - deletedRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Dictionary code for a category name; ANY_CATEGORY for the "All Categories" filter
+    public int categoryCode(String category) {
+        if (category == null || category.equals("All Categories")) {
+            return ANY_CATEGORY;
+        }
+        lock.readLock().lock();
+        try {
+            Integer code = categoryLookup.get(category);
+            return code != null ? code : UNKNOWN_CATEGORY;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of live rows with calories <= maxCalories in the given category, ascending.
+    // Cost is a bitmap AND plus the calorie-bitmap delta since the previous query, not a row scan,
+    // so repeated slider moves stay cheap.
+    public int[] filter(int maxCalories, int categoryCode) {
+        lock.readLock().lock();
+        try {
+            BitSet selected = select(maxCalories, categoryCode);
+            int[] matches = new int[selected.cardinality()];
+            int count = 0;
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+                matches[count++] = ids[row];
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Calorie and macro totals over the rows filter would return, summed straight from the
+    // selection bitmap without materializing ids
+    public Totals totals(int maxCalories, int categoryCode) {
+        lock.readLock().lock();
+        try {
+            Totals totals = new Totals();
+            MacroKernels.preferred().sum(calories, protein, carbs, fats,
+                    select(maxCalories, categoryCode).toLongArray(), totals);
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Calorie and macro totals over the given ids (ascending); unknown ids are skipped
+    public Totals totals(int[] selectedIds) {
+        lock.readLock().lock();
+        try {
+            // Ids are ascending, so the row cursor only moves forward
+            long[] rowMask = new long[(rows + 63) >>> 6];
+            int row = 0;
+            for (int id : selectedIds) {
+                while (row < rows && ids[row] < id) {
+                    row++;
+                }
+                if (row == rows) {
+                    break;
+                }
+                if (ids[row] == id && !deleted[row]) {
+                    rowMask[row >>> 6] |= 1L << row;
+                }
+            }
+            Totals totals = new Totals();
+            MacroKernels.preferred().sum(calories, protein, carbs, fats, rowMask, totals);
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Live rows with calories <= maxCalories in the given category. Caller holds the read lock.
+    private BitSet select(int maxCalories, int categoryCode) {
+        if (categoryCode == UNKNOWN_CATEGORY) {
+            return new BitSet();
+        }
+        synchronized (indexLock) {
+            refreshIndexes();
+
+            BitSet selected = (BitSet) (categoryCode == ANY_CATEGORY ? liveRows : categoryRows.get(categoryCode)).clone();
+            int prefix = upperBound(caloriesSorted, maxCalories);
+            if (prefix < caloriesSorted.length) {
+                moveCaloriePrefix(prefix);
+                selected.and(calorieRows);
+            }
+            return selected;
+        }
+    }
+
+    public String name(int id) {
+        lock.readLock().lock();
+        try {
+            int row = findRow(id);
+            if (row < 0 || deleted[row]) {
+                return null;
+            }
+            return new String(nameBytes, nameOffsets[row], nameLengths[row], StandardCharsets.UTF_8);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static class Totals {
+        private int count;
+        private long calories;
+        private double protein;
+        private double carbs;
+        private double fats;
+
+        public int getCount() { return count; }
+        public long getCalories() { return calories; }
+        public double getProtein() { return protein; }
+        public double getCarbs() { return carbs; }
+        public double getFats() { return fats; }
+
+        public double getAverageCalories() {
+            return count == 0 ? 0 : (double) calories / count;
+        }
+
+        public double getAverageProtein() {
+            return count == 0 ? 0 : protein / count;
+        }
+
+        public double getAverageCarbs() {
+            return count == 0 ? 0 : carbs / count;
+        }
+
+        public double getAverageFats() {
+            return count == 0 ? 0 : fats / count;
+        }
+
+        // For MacroKernel implementations
+        void add(int rows, long kcal, double proteinGrams, double carbGrams, double fatGrams) {
+            count += rows;
+            calories += kcal;
+            protein += proteinGrams;
+            carbs += carbGrams;
+            fats += fatGrams;
+        }
+    }
+
+    // Binary search over the id column; returns -(insertion point + 1) when absent
+    private int findRow(int id) {
+        return Arrays.binarySearch(ids, 0, rows, id);
+    }
+
+    private int insertRow(int row, int id) {
+        ensureCapacity(rows + 1);
+        if (row < rows) {
+            // Only out-of-order ids pay for the shift; keyset loads and new inserts append
+            int tail = rows - row;
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(calories, row, calories, row + 1, tail);
+            System.arraycopy(protein, row, protein, row + 1, tail);
+            System.arraycopy(carbs, row, carbs, row + 1, tail);
+            System.arraycopy(fats, row, fats, row + 1, tail);
+            System.arraycopy(categoryCodes, row, categoryCodes, row + 1, tail);
+            System.arraycopy(nameOffsets, row, nameOffsets, row + 1, tail);
+            System.arraycopy(nameLengths, row, nameLengths, row + 1, tail);
+            System.arraycopy(deleted, row, deleted, row + 1, tail);
+        }
+        ids[row] = id;
+        deleted[row] = false;
+        rows++;
+        if (row < rows - 1) {
+            rowsShifted = true;
+        }
+        return row;
+    }
+
+    // Rebuilds whatever the last writes invalidated; called with indexLock held
+    private void refreshIndexes() {
+        if (rowsShifted) {
+            // Row numbers moved (out-of-order insert, compaction, clear): rebuild the bitmaps
+            liveRows.clear();
+            for (BitSet bitmap : categoryRows) {
+                bitmap.clear();
+            }
+            for (int row = 0; row < rows; row++) {
+                if (!deleted[row]) {
+                    liveRows.set(row);
+                    categoryRows.get(categoryCodes[row]).set(row);
+                }
+            }
+            rowsShifted = false;
+            calorieOrderStale = true;
+        }
+
+        if (calorieOrderStale) {
+            // Sort (calories, row) pairs packed into longs, then split them back into two columns
+            long[] pairs = new long[rows];
+            for (int row = 0; row < rows; row++) {
+                pairs[row] = ((long) calories[row] << 32) | row;
+            }
+            Arrays.sort(pairs);
+            caloriesSorted = new int[rows];
+            rowsByCalories = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                caloriesSorted[i] = (int) (pairs[i] >> 32);
+                rowsByCalories[i] = (int) pairs[i];
+            }
+            calorieRows.clear();
+            calorieRowsPrefix = 0;
+            calorieOrderStale = false;
+        }
+    }
+
+    // Adjusts calorieRows to hold exactly the first 'prefix' rows of the calorie order,
+    // touching only the rows between the old and the new prefix
+    private void moveCaloriePrefix(int prefix) {
+        for (int i = calorieRowsPrefix; i < prefix; i++) {
+            calorieRows.set(rowsByCalories[i]);
+        }
+        for (int i = prefix; i < calorieRowsPrefix; i++) {
+            calorieRows.clear(rowsByCalories[i]);
+        }
+        calorieRowsPrefix = prefix;
+    }
+
+    // Number of entries <= value in a sorted array
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int encodeCategory(String category) {
+        String key = category != null ? category : "";
+        Integer code = categoryLookup.get(key);
+        if (code == null) {
+            if (categories.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct food categories");
+            }
+            code = categories.size();
+            categories.add(key);
+            categoryLookup.put(key, code);
+            categoryRows.add(new BitSet());
+        }
+        return code;
+    }
+
+    private void storeName(int row, String name) {
+        byte[] encoded = (name != null ? name : "").getBytes(StandardCharsets.UTF_8);
+        if (nameBytesUsed + encoded.length > nameBytes.length) {
+            nameBytes = Arrays.copyOf(nameBytes, Math.max(nameBytes.length * 2, nameBytesUsed + encoded.length));
+        }
+        // Updates append; the old bytes are dropped at the next compaction
+        System.arraycopy(encoded, 0, nameBytes, nameBytesUsed, encoded.length);
+        nameOffsets[row] = nameBytesUsed;
+        nameLengths[row] = encoded.length;
+        nameBytesUsed += encoded.length;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        calories = Arrays.copyOf(calories, capacity);
+        protein = Arrays.copyOf(protein, capacity);
+        carbs = Arrays.copyOf(carbs, capacity);
+        fats = Arrays.copyOf(fats, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+        nameLengths = Arrays.copyOf(nameLengths, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+    }
+
+    // Squeezes out tombstoned rows and stale name bytes
+    private void compact() {
+        byte[] compactNames = new byte[Math.max(INITIAL_CAPACITY, nameBytesUsed)];
+        int used = 0;
+        int live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (deleted[row]) {
+                continue;
+            }
+            ids[live] = ids[row];
+            calories[live] = calories[row];
+            protein[live] = protein[row];
+            carbs[live] = carbs[row];
+            fats[live] = fats[row];
+            categoryCodes[live] = categoryCodes[row];
+            System.arraycopy(nameBytes, nameOffsets[row], compactNames, used, nameLengths[row]);
+            nameOffsets[live] = used;
+            nameLengths[live] = nameLengths[row];
+            deleted[live] = false;
+            used += nameLengths[row];
+            live++;
+        }
+        rows = live;
+        deletedRows = 0;
+        nameBytes = compactNames;
+        nameBytesUsed = used;
+        rowsShifted = true;
+    }
+}
@@ -0,0 +1,378 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Process-wide copy of food_choices shared by every FoodChoicesPage instance.
+// Reads are served from memory once the table has been loaded; writes go to the FoodRepository
+// first and are then applied to the cached rows and their search indexes in place, so nothing is refetched.
+// The cache holds at most ServerFoodSearch.CATALOG_THRESHOLD rows; larger catalogs are not cached
+// and the page queries the server instead.
+// Edits made by other clients are picked up by sync(), which reads only the rows and tombstones
+// newer than the version the cache last saw.
+public final class FoodCatalogCache {
+    private static final FoodCatalogCache INSTANCE = new FoodCatalogCache(Repositories.foods(), ServerFoodSearch.CATALOG_THRESHOLD);
+
+    private enum State { EMPTY, LOADING, COMPLETE, OVERSIZED }
+
+    private final FoodRepository repository;
+    private final int capacity;
+    private final List<FoodItem> items = new ArrayList<>(); // ascending id
+    private final Map<Integer, FoodItem> itemsById = new HashMap<>();
+    private final TrigramIndex textIndex = new TrigramIndex();
+    private final FoodCatalog columns = new FoodCatalog();
+    private State state = State.EMPTY;
+    private int loadToken;
+    // Change version the cached rows are current as of
+    private long syncedVersion;
+    // One sync at a time, so two pages don't fetch the same delta
+    private final Object syncLock = new Object();
+
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FoodCatalogCache(FoodRepository repository, int capacity) {
+        this.repository = repository;
+        this.capacity = capacity;
+    }
+
+    public static FoodCatalogCache getInstance() {
+        return INSTANCE;
+    }
+
+    // All rows in id order if the whole table is cached (a hit), otherwise null (a miss)
+    public synchronized List<FoodItem> cachedItems() {
+        if (state == State.COMPLETE) {
+            hits.incrementAndGet();
+            return new ArrayList<>(items);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public synchronized boolean isOversized() {
+        return state == State.OVERSIZED;
+    }
+
+    // Starts a fresh load; pages from any earlier load are ignored from now on
+    public synchronized int beginLoad() {
+        clearRows();
+        state = State.LOADING;
+        return ++loadToken;
+    }
+
+    // Checks, before a load reads any rows, that the table fits. Counts at most capacity + 1 rows;
+    // if there are more the cache is marked oversized and false is returned, so a large catalog
+    // goes straight to server-side search instead of being paged in and thrown away.
+    public boolean probeSize(int token) throws SQLException {
+        if (repository.countUpTo(capacity + 1) <= capacity) {
+            return true;
+        }
+        synchronized (this) {
+            if (token == loadToken && state == State.LOADING) {
+                clearRows();
+                state = State.OVERSIZED;
+            }
+        }
+        return false;
+    }
+
+    // Adds a page of a running load. Returns false if the load was superseded or the cache is full.
+    public synchronized boolean addLoaded(int token, List<FoodItem> page) {
+        if (token != loadToken || state != State.LOADING) {
+            return false;
+        }
+        if (items.size() + page.size() > capacity) {
+            clearRows();
+            state = State.OVERSIZED;
+            return false;
+        }
+        for (FoodItem item : page) {
+            putRow(item);
+        }
+        return true;
+    }
+
+    // Completes a load. version is the change version read before the first page was fetched,
+    // so anything changed while the load was running is picked up by the next sync.
+    public synchronized void finishLoad(int token, long version) {
+        if (token == loadToken && state == State.LOADING) {
+            state = State.COMPLETE;
+            syncedVersion = version;
+        }
+    }
+
+    // Current change version of the catalog; read it before starting a load
+    public long currentVersion() throws SQLException {
+        return repository.currentVersion();
+    }
+
+    // Brings the cached rows up to date with the rows changed since the last sync.
+    // The cost is proportional to the number of changes, not the size of the table.
+    public Delta sync() throws SQLException {
+        synchronized (syncLock) {
+            long since;
+            int token;
+            synchronized (this) {
+                if (state != State.COMPLETE) {
+                    return Delta.NONE;
+                }
+                since = syncedVersion;
+                token = loadToken;
+            }
+
+            FoodRepository.Changes changes = repository.changesSince(since);
+            long version = changes.getVersion();
+            if (!changes.isComplete()) {
+                // The tombstones we'd need have been purged; only a full reload is safe
+                invalidate();
+                return Delta.RELOAD;
+            }
+            if (version == since) {
+                return Delta.NONE;
+            }
+
+            List<FoodItem> changed = changes.getChanged();
+            int[] removed = changes.getRemoved();
+
+            synchronized (this) {
+                if (token != loadToken || state != State.COMPLETE) {
+                    // A load started meanwhile and will see these changes itself
+                    return Delta.NONE;
+                }
+                for (FoodItem item : changed) {
+                    cacheWrite(item);
+                }
+                if (state == State.OVERSIZED) {
+                    return Delta.RELOAD;
+                }
+                for (int id : removed) {
+                    removeRow(id);
+                }
+                syncedVersion = version;
+            }
+            return new Delta(changed, removed, false);
+        }
+    }
+
+    // Forgets everything, e.g. after a load was abandoned half way
+    public synchronized void invalidate() {
+        clearRows();
+        state = State.EMPTY;
+        loadToken++;
+    }
+
+    // Rows with id in (afterId, upToId], in id order
+    public synchronized List<FoodItem> itemsBetween(int afterId, int upToId) {
+        List<FoodItem> range = new ArrayList<>();
+        for (int i = indexOfId(items, afterId + 1); i < items.size(); i++) {
+            FoodItem item = items.get(i);
+            if (item.getId() > upToId) {
+                break;
+            }
+            range.add(item);
+        }
+        return range;
+    }
+
+    // Answers a search from the column indexes and the trigram index, ignoring ids above maxId
+    public List<FoodItem> search(String text, String category, int maxCalories, int maxId) {
+        int[] ids = columns.filter(maxCalories, columns.categoryCode(category));
+        if (!text.isEmpty()) {
+            ids = intersectSorted(ids, textIndex.search(text));
+        }
+
+        List<FoodItem> results = new ArrayList<>();
+        synchronized (this) {
+            for (int id : ids) {
+                if (id > maxId) {
+                    break;
+                }
+                FoodItem item = itemsById.get(id);
+                if (item != null) {
+                    results.add(item);
+                }
+            }
+        }
+        return results;
+    }
+
+    // Calorie and macro totals over the cached rows a category and calorie filter selects
+    public FoodCatalog.Totals totals(String category, int maxCalories) {
+        return columns.totals(maxCalories, columns.categoryCode(category));
+    }
+
+    // Calorie and macro totals over the given items, as currently cached
+    public FoodCatalog.Totals totals(List<FoodItem> items) {
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).getId();
+        }
+        Arrays.sort(ids);
+        return columns.totals(ids);
+    }
+
+    // Write-through: insert, then cache the row under the id the repository generated
+    public FoodItem insert(String name, int calories, String category, String description,
+                           double protein, double carbs, double fats) throws SQLException {
+        FoodItem item = repository.insert(name, calories, category, description, protein, carbs, fats);
+        cacheWrite(item);
+        return item;
+    }
+
+    public void update(FoodItem item) throws SQLException {
+        repository.update(item);
+        cacheWrite(item);
+    }
+
+    public void delete(int id) throws SQLException {
+        repository.delete(id);
+        synchronized (this) {
+            removeRow(id);
+        }
+    }
+
+    // Batched write-through, one transaction for all rows. Used for bulk edits,
+    // including changing the category of many rows at once.
+    public void updateAll(List<FoodItem> updated) throws SQLException {
+        repository.updateAll(updated);
+        for (FoodItem item : updated) {
+            cacheWrite(item);
+        }
+    }
+
+    public void deleteAll(int[] ids) throws SQLException {
+        repository.deleteAll(ids);
+        synchronized (this) {
+            for (int id : ids) {
+                removeRow(id);
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "FoodCatalogCache[state=" + state + ", rows=" + items.size()
+                + ", hits=" + hits.get() + ", misses=" + misses.get() + "]";
+    }
+
+    private synchronized void cacheWrite(FoodItem item) {
+        if (state == State.OVERSIZED || state == State.EMPTY) {
+            return;
+        }
+        if (!itemsById.containsKey(item.getId()) && items.size() >= capacity) {
+            // Grew past the bound: stop caching, the page falls back to server-side search
+            clearRows();
+            state = State.OVERSIZED;
+            return;
+        }
+        putRow(item);
+    }
+
+    private void putRow(FoodItem item) {
+        int position = indexOfId(items, item.getId());
+        if (position < items.size() && items.get(position).getId() == item.getId()) {
+            items.set(position, item);
+        } else {
+            items.add(position, item);
+        }
+        itemsById.put(item.getId(), item);
+        textIndex.put(item.getId(), item.getName(), item.getDescription());
+        columns.put(item.getId(), item.getName(), item.getCalories(), item.getCategory(),
+                item.getProtein(), item.getCarbs(), item.getFats());
+    }
+
+    private void removeRow(int id) {
+        if (itemsById.remove(id) == null) {
+            return;
+        }
+        int position = indexOfId(items, id);
+        items.remove(position);
+        textIndex.remove(id);
+        columns.remove(id);
+    }
+
+    private void clearRows() {
+        items.clear();
+        itemsById.clear();
+        textIndex.clear();
+        columns.clear();
+    }
+
+    // Position of the first row with id >= the given id
+    private static int indexOfId(List<FoodItem> items, int id) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (items.get(mid).getId() < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] intersectSorted(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    // Outcome of a sync: the rows that changed and the ids that were deleted
+    public static final class Delta {
+        static final Delta NONE = new Delta(List.of(), new int[0], false);
+        static final Delta RELOAD = new Delta(List.of(), new int[0], true);
+
+        private final List<FoodItem> changed;
+        private final int[] removed;
+        private final boolean reloadRequired;
+
+        private Delta(List<FoodItem> changed, int[] removed, boolean reloadRequired) {
+            this.changed = changed;
+            this.removed = removed;
+            this.reloadRequired = reloadRequired;
+        }
+
+        public List<FoodItem> getChanged() {
+            return changed;
+        }
+
+        public int[] getRemoved() {
+            return removed;
+        }
+
+        // True when the cache was dropped and the catalog has to be loaded (or searched) afresh
+        public boolean isReloadRequired() {
+            return reloadRequired;
+        }
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.length == 0;
+        }
+    }
+}
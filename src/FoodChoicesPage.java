@@ -1,11 +1,17 @@
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.*;
+import java.io.InterruptedIOException;
+import java.sql.Connection;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 public class FoodChoicesPage extends JFrame {
     private final Color PRIMARY_COLOR = new Color(46, 139, 87); // Forest Green
@@ -14,11 +20,45 @@ public class FoodChoicesPage extends JFrame {
     private final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
     private final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 24);
 
-    private JPanel foodListPanel;
-    private List<FoodItem> foodItems;
+    private JList<FoodItem> foodList;
+    private FoodListModel foodListModel;
+    // Shared across page instances, so reopening the page doesn't touch MySQL
+    private final FoodCatalogCache cache = FoodCatalogCache.getInstance();
+    private final FoodRepository foods = Repositories.foods();
+    // Highest id handed to this page by the running load; later rows are still on their way
+    private int loadedMaxId = Integer.MAX_VALUE;
+    // Set once the catalog exceeds ServerFoodSearch.CATALOG_THRESHOLD; searches then run in SQL
+    private boolean serverMode;
+    private JLabel searchStatusLabel;
     private JTextField searchField;
     private JComboBox<String> categoryFilter;
     private JSlider calorieSlider;
+    private JButton addFoodButton;
+    private JButton deleteSelectedButton;
+    private JButton changeCategoryButton;
+    private JButton importButton;
+    private JButton logMealButton;
+    private CompletableFuture<FoodCsvImporter.Result> currentImport;
+    private CompletableFuture<Boolean> currentLoad;
+    private int loadGeneration;
+
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private Timer searchDebounce;
+    private CompletableFuture<List<FoodItem>> currentSearch;
+    private SearchQuery appliedQuery = new SearchQuery("", "All Categories", Integer.MAX_VALUE);
+
+    // Keyset page sizes: a small first page for a fast first paint, bigger ones after that
+    private static final int FIRST_PAGE_SIZE = 100;
+    private static final int PAGE_SIZE = 1000;
+    private static final String SEARCH_PLACEHOLDER = "Search foods...";
+    private static final String[] FOOD_CATEGORIES = {"Breakfast", "Lunch", "Dinner", "Snacks"};
+
+    // Background refresh: fetches only what other clients changed since the last sync
+    private static final int SYNC_INTERVAL_MS = Integer.getInteger("fitness.food.syncIntervalMs", 30_000);
+    private Timer syncTimer;
+    private CompletableFuture<FoodCatalogCache.Delta> currentSync;
+
+    private final DataAccess.TaskGroup tasks = new DataAccess.TaskGroup();
 
     public FoodChoicesPage() {
         setTitle("Health & Fitness Tracker - Food Choices");
@@ -27,8 +67,6 @@ public class FoodChoicesPage extends JFrame {
         setLocationRelativeTo(null);
         setMinimumSize(new Dimension(700, 500));
 
-        foodItems = new ArrayList<>();
-
         // Main Panel
         JPanel mainPanel = new JPanel(new BorderLayout());
         mainPanel.setBackground(SECONDARY_COLOR);
@@ -38,7 +76,9 @@ public class FoodChoicesPage extends JFrame {
         mainPanel.add(createContentPanel(), BorderLayout.CENTER);
         mainPanel.add(createFooterPanel(), BorderLayout.SOUTH);
 
-        loadFoodItems();
+        showFoodItems();
+        syncTimer = new Timer(SYNC_INTERVAL_MS, e -> syncFoodItems());
+        syncTimer.start();
         add(mainPanel);
         setVisible(true);
     }
@@ -75,11 +115,10 @@ public class FoodChoicesPage extends JFrame {
         JPanel searchPanel = createSearchPanel();
 
         // Food List Panel
-        foodListPanel = new JPanel();
-        foodListPanel.setLayout(new BoxLayout(foodListPanel, BoxLayout.Y_AXIS));
-        foodListPanel.setBackground(SECONDARY_COLOR);
+        foodListModel = new FoodListModel();
+        foodList = createFoodList();
 
-        JScrollPane scrollPane = new JScrollPane(foodListPanel);
+        JScrollPane scrollPane = new JScrollPane(foodList);
         scrollPane.setBorder(BorderFactory.createLineBorder(PRIMARY_COLOR));
         scrollPane.getVerticalScrollBar().setUnitIncrement(16);
 
@@ -104,11 +143,11 @@ public class FoodChoicesPage extends JFrame {
 
         // Search field
         searchField = new JTextField(20);
-        styleTextField(searchField, "Search foods...");
+        styleTextField(searchField, SEARCH_PLACEHOLDER);
         searchField.addKeyListener(new KeyAdapter() {
             @Override
             public void keyReleased(KeyEvent e) {
-                filterFoodItems();
+                scheduleSearch();
             }
         });
 
@@ -116,7 +155,7 @@ public class FoodChoicesPage extends JFrame {
         String[] categories = {"All Categories", "Breakfast", "Lunch", "Dinner", "Snacks"};
         categoryFilter = new JComboBox<>(categories);
         categoryFilter.setFont(MAIN_FONT);
-        categoryFilter.addActionListener(e -> filterFoodItems());
+        categoryFilter.addActionListener(e -> scheduleSearch());
 
         // Calorie slider
         calorieSlider = new JSlider(JSlider.HORIZONTAL, 0, 1000, 1000);
@@ -125,7 +164,7 @@ public class FoodChoicesPage extends JFrame {
         calorieSlider.setMinorTickSpacing(50);
         calorieSlider.setPaintTicks(true);
         calorieSlider.setPaintLabels(true);
-        calorieSlider.addChangeListener(e -> filterFoodItems());
+        calorieSlider.addChangeListener(e -> scheduleSearch());
 
         // Add components with GridBagLayout
         gbc.gridx = 0;
@@ -152,6 +191,12 @@ public class FoodChoicesPage extends JFrame {
         gbc.gridy = 2;
         searchPanel.add(calorieSlider, gbc);
 
+        searchStatusLabel = new JLabel(" ");
+        searchStatusLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
+        searchStatusLabel.setForeground(Color.GRAY);
+        gbc.gridy = 3;
+        searchPanel.add(searchStatusLabel, gbc);
+
         return searchPanel;
     }
 
@@ -159,9 +204,19 @@ public class FoodChoicesPage extends JFrame {
         JPanel footerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
         footerPanel.setBackground(SECONDARY_COLOR);
 
-        JButton addFoodButton = createStyledButton("Add New Food");
+        addFoodButton = createStyledButton("Add New Food");
         addFoodButton.addActionListener(e -> showAddFoodDialog());
 
+        // Bulk curation of the rows selected in the list (Ctrl/Shift-click to select several)
+        deleteSelectedButton = createStyledButton("Delete Selected");
+        deleteSelectedButton.addActionListener(e -> deleteSelectedFoods());
+        changeCategoryButton = createStyledButton("Change Category");
+        changeCategoryButton.addActionListener(e -> changeSelectedCategory());
+        importButton = createStyledButton("Import CSV");
+        importButton.addActionListener(e -> importFoodsFromCsv());
+        logMealButton = createStyledButton("Log as Eaten");
+        logMealButton.addActionListener(e -> logSelectedAsEaten());
+
         JButton backButton = createStyledButton("Back to Main");
         backButton.setBackground(SECONDARY_COLOR);
         backButton.setForeground(PRIMARY_COLOR);
@@ -171,6 +226,10 @@ public class FoodChoicesPage extends JFrame {
         });
 
         footerPanel.add(addFoodButton);
+        footerPanel.add(deleteSelectedButton);
+        footerPanel.add(changeCategoryButton);
+        footerPanel.add(importButton);
+        footerPanel.add(logMealButton);
         footerPanel.add(backButton);
 
         return footerPanel;
@@ -229,86 +288,161 @@ public class FoodChoicesPage extends JFrame {
         });
     }
 
-    private void loadFoodItems() {
-        foodItems.clear();
-        try (Connection connection = DatabaseConnection.getConnection();
-             Statement statement = connection.createStatement();
-             ResultSet resultSet = statement.executeQuery("SELECT * FROM food_choices")) {
-
-            while (resultSet.next()) {
-                FoodItem item = new FoodItem(
-                        resultSet.getInt("id"),
-                        resultSet.getString("food_name"),
-                        resultSet.getInt("calories"),
-                        resultSet.getString("category"),
-                        resultSet.getString("description"),
-                        resultSet.getDouble("protein"),
-                        resultSet.getDouble("carbs"),
-                        resultSet.getDouble("fats")
-                );
-                foodItems.add(item);
-            }
-            updateFoodList();
-        } catch (Exception e) {
-            showError("Database Error", "Could not load food items: " + e.getMessage());
+    // Serves the list from the shared cache when it holds the whole table, otherwise loads it
+    private void showFoodItems() {
+        List<FoodItem> cached = cache.cachedItems();
+        if (cached != null) {
+            appliedQuery = currentQuery();
+            foodListModel.setItems(appliedQuery.filter(cached));
+        } else if (cache.isOversized()) {
+            enterServerMode();
+        } else {
+            loadFoodItems();
         }
     }
 
-    private void updateFoodList() {
-        foodListPanel.removeAll();
-        for (FoodItem item : foodItems) {
-            foodListPanel.add(createFoodItemPanel(item));
-            foodListPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+    private void loadFoodItems() {
+        // A newer load supersedes whatever is still streaming in
+        if (currentLoad != null) {
+            currentLoad.cancel(true);
         }
-        foodListPanel.revalidate();
-        foodListPanel.repaint();
-    }
+        serverMode = false;
+        cancelSearch();
+        appliedQuery = currentQuery();
+        foodListModel.setItems(new ArrayList<>());
+        loadedMaxId = 0;
+
+        // Pages are fetched by keyset (id > last seen id) on the data-access executor, cached,
+        // and appended on the EDT as they arrive, so the first screen shows before the whole table is read.
+        // Returns false when the catalog turned out to be too big to cache.
+        int generation = ++loadGeneration;
+        int token = cache.beginLoad();
+        CompletableFuture<Boolean> load = DataAccess.supply(() -> {
+            if (!cache.probeSize(token)) {
+                return false;
+            }
+            int lastId = 0;
+            int pageSize = FIRST_PAGE_SIZE;
+            long version = cache.currentVersion();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                List<FoodItem> page = foods.findPage(lastId, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                if (!cache.addLoaded(token, page)) {
+                    return false;
+                }
 
-    private JPanel createFoodItemPanel(FoodItem item) {
-        JPanel panel = new JPanel(new BorderLayout(10, 10));
-        panel.setBackground(Color.WHITE);
-        panel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(PRIMARY_COLOR),
-                BorderFactory.createEmptyBorder(10, 15, 10, 15)
-        ));
+                lastId = page.get(page.size() - 1).getId();
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == loadGeneration) {
+                        appendFoodItems(page);
+                    }
+                });
 
-        // Left side - Basic info
-        JPanel infoPanel = new JPanel(new GridLayout(0, 1, 5, 5));
-        infoPanel.setBackground(Color.WHITE);
+                if (page.size() < pageSize) {
+                    break;
+                }
+                pageSize = PAGE_SIZE;
+            }
+            cache.finishLoad(token, version);
+            return true;
+        });
+        currentLoad = load;
+
+        DataAccess.whileBusy(tasks.track(load), this, writeControls());
+        DataAccess.onEdt(load, complete -> {
+            if (currentLoad == load) {
+                currentLoad = null;
+                loadedMaxId = Integer.MAX_VALUE;
+                if (!complete) {
+                    enterServerMode();
+                }
+            }
+        }, error -> showError("Database Error", "Could not load food items: " + error.getMessage()));
+    }
+
+    private void appendFoodItems(List<FoodItem> page) {
+        loadedMaxId = page.get(page.size() - 1).getId();
 
-        JLabel nameLabel = new JLabel(item.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
-        infoPanel.add(nameLabel);
-        infoPanel.add(new JLabel("Calories: " + item.getCalories()));
-        infoPanel.add(new JLabel("Category: " + item.getCategory()));
+        // New rows are matched against the query the list is currently showing
+        foodListModel.addAll(appliedQuery.filter(page));
+    }
 
-        // Right side - Nutritional info
-        JPanel nutritionPanel = new JPanel(new GridLayout(0, 1, 5, 5));
-        nutritionPanel.setBackground(Color.WHITE);
-        nutritionPanel.add(new JLabel(String.format("Protein: %.1fg", item.getProtein())));
-        nutritionPanel.add(new JLabel(String.format("Carbs: %.1fg", item.getCarbs())));
-        nutritionPanel.add(new JLabel(String.format("Fats: %.1fg", item.getFats())));
+    // The placeholder text counts as an empty search
+    private String getSearchText() {
+        String text = searchField.getText();
+        return text.equals(SEARCH_PLACEHOLDER) ? "" : text.toLowerCase();
+    }
 
-        // Buttons panel
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        buttonPanel.setBackground(Color.WHITE);
+    // Only the rows inside the viewport are ever painted: one renderer component is reused
+    // for every cell, and the fixed cell size spares JList from measuring each row.
+    private JList<FoodItem> createFoodList() {
+        JList<FoodItem> list = new JList<>(foodListModel);
+        FoodItemRenderer renderer = new FoodItemRenderer();
+        list.setCellRenderer(renderer);
+        list.setBackground(SECONDARY_COLOR);
+        list.setFixedCellHeight(renderer.getPreferredSize().height);
+        list.setFixedCellWidth(1); // cells stretch to the viewport width anyway
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+
+        // Acts as the cell editor: clicks are hit-tested against the renderer's buttons
+        MouseAdapter buttonHandler = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = rowAt(e.getPoint());
+                if (index < 0) {
+                    return;
+                }
+                FoodItem item = foodListModel.getElementAt(index);
+                JButton button = renderer.buttonAt(list, index, e.getPoint());
+                if (button == renderer.editButton) {
+                    showEditFoodDialog(item);
+                } else if (button == renderer.deleteButton) {
+                    deleteFoodItem(item);
+                }
+            }
 
-        JButton editButton = new JButton("✏️");
-        styleIconButton(editButton);
-        editButton.addActionListener(e -> showEditFoodDialog(item));
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                int index = rowAt(e.getPoint());
+                JButton button = index < 0 ? null : renderer.buttonAt(list, index, e.getPoint());
+                list.setCursor(button != null ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+                if (index != renderer.hoverIndex || button != renderer.hoverButton) {
+                    repaintRow(renderer.hoverIndex);
+                    renderer.hoverIndex = index;
+                    renderer.hoverButton = button;
+                    repaintRow(index);
+                }
+            }
 
-        JButton deleteButton = new JButton("🗑️");
-        styleIconButton(deleteButton);
-        deleteButton.addActionListener(e -> deleteFoodItem(item));
+            @Override
+            public void mouseExited(MouseEvent e) {
+                repaintRow(renderer.hoverIndex);
+                renderer.hoverIndex = -1;
+                renderer.hoverButton = null;
+                list.setCursor(Cursor.getDefaultCursor());
+            }
 
-        buttonPanel.add(editButton);
-        buttonPanel.add(deleteButton);
+            private int rowAt(Point point) {
+                int index = list.locationToIndex(point);
+                if (index < 0 || !list.getCellBounds(index, index).contains(point)) {
+                    return -1;
+                }
+                return index;
+            }
 
-        panel.add(infoPanel, BorderLayout.WEST);
-        panel.add(nutritionPanel, BorderLayout.CENTER);
-        panel.add(buttonPanel, BorderLayout.EAST);
+            private void repaintRow(int index) {
+                if (index >= 0 && index < foodListModel.getSize()) {
+                    list.repaint(list.getCellBounds(index, index));
+                }
+            }
+        };
+        list.addMouseListener(buttonHandler);
+        list.addMouseMotionListener(buttonHandler);
 
-        return panel;
+        return list;
     }
 
     private void styleIconButton(JButton button) {
@@ -317,36 +451,183 @@ public class FoodChoicesPage extends JFrame {
         button.setFocusPainted(false);
         button.setBackground(Color.WHITE);
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+    }
 
-        button.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                button.setBackground(SECONDARY_COLOR);
+    private SearchQuery currentQuery() {
+        return new SearchQuery(getSearchText(), (String) categoryFilter.getSelectedItem(), calorieSlider.getValue());
+    }
+
+    // Coalesces bursts of keystrokes and slider ticks into one search
+    private void scheduleSearch() {
+        if (searchDebounce == null) {
+            searchDebounce = new Timer(SEARCH_DEBOUNCE_MS, e -> filterFoodItems());
+            searchDebounce.setRepeats(false);
+        }
+        searchDebounce.restart();
+    }
+
+    private void cancelSearch() {
+        if (searchDebounce != null) {
+            searchDebounce.stop();
+        }
+        if (currentSearch != null) {
+            currentSearch.cancel(true);
+            currentSearch = null;
+        }
+    }
+
+    private void filterFoodItems() {
+        SearchQuery query = currentQuery();
+        if (query.equals(appliedQuery)) {
+            return;
+        }
+        cancelSearch();
+
+        if (serverMode) {
+            searchServer(query);
+            return;
+        }
+
+        // A narrowing text query only needs to look at what the list already shows. Anything else
+        // runs against the catalog indexes: category and calorie bitmaps ANDed together, then
+        // intersected by id with the trigram hits for the text.
+        List<FoodItem> base = !query.text.isEmpty() && query.narrows(appliedQuery) ? foodListModel.snapshot() : null;
+        int coveredMaxId = loadedMaxId;
+
+        CompletableFuture<List<FoodItem>> search = DataAccess.supply(() -> base != null
+                ? query.filter(base)
+                : cache.search(query.text, query.category, query.maxCalories, coveredMaxId));
+        currentSearch = search;
+        DataAccess.onEdt(tasks.track(search), results -> {
+            if (currentSearch != search) {
+                return;
             }
+            currentSearch = null;
+            appliedQuery = query;
+            foodListModel.setItems(results);
 
-            @Override
-            public void mouseExited(MouseEvent e) {
-                button.setBackground(Color.WHITE);
+            // Pages that streamed in while the search was running
+            if (loadedMaxId > coveredMaxId) {
+                foodListModel.addAll(query.filter(cache.itemsBetween(coveredMaxId, loadedMaxId)));
             }
-        });
+            summarizeResults(query);
+        }, error -> showError("Search Error", "Could not filter food items: " + error.getMessage()));
     }
 
-    private void filterFoodItems() {
-        String searchText = searchField.getText().toLowerCase();
-        String category = (String) categoryFilter.getSelectedItem();
-        int maxCalories = calorieSlider.getValue();
+    // Count and average nutrition of what the filter matched, shown under the search box. Without
+    // text the sums come straight from the catalog's category and calorie bitmaps.
+    private void summarizeResults(SearchQuery query) {
+        List<FoodItem> shown = query.text.isEmpty() ? null : foodListModel.snapshot();
+        CompletableFuture<FoodCatalog.Totals> summary = DataAccess.supply(() -> shown == null
+                ? cache.totals(query.category, query.maxCalories)
+                : cache.totals(shown));
+        DataAccess.onEdt(tasks.track(summary), totals -> {
+            if (appliedQuery != query || serverMode) {
+                return;
+            }
+            searchStatusLabel.setText(totals.getCount() == 0 ? " " : String.format(
+                    "%,d foods, on average %.0f kcal, %.1fg protein, %.1fg carbs, %.1fg fats",
+                    totals.getCount(), totals.getAverageCalories(), totals.getAverageProtein(),
+                    totals.getAverageCarbs(), totals.getAverageFats()));
+        }, error -> searchStatusLabel.setText(" "));
+    }
+
+    // Large catalogs: drop the partial local copy and answer every search with a LIMITed SQL query.
+    // From here on text searches follow the server's rules (see ServerFoodSearch): on MySQL each word
+    // matches as a word prefix anywhere in the name or description, instead of the whole text
+    // matching as a substring. "ilk" no longer finds "milk", and "chicken bre" finds "breaded chicken".
+    private void enterServerMode() {
+        serverMode = true;
+        appliedQuery = null;
+        filterFoodItems();
+    }
 
-        foodListPanel.removeAll();
+    private void searchServer(SearchQuery query) {
+        int limit = ServerFoodSearch.RESULT_LIMIT;
+        CompletableFuture<List<FoodItem>> search = DataAccess.supply(() ->
+                foods.search(query.text, query.category, query.maxCalories, limit));
+        currentSearch = search;
 
-        for (FoodItem item : foodItems) {
-            if (item.matches(searchText, category, maxCalories)) {
-                foodListPanel.add(createFoodItemPanel(item));
-                foodListPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        DataAccess.whileBusy(tasks.track(search), this);
+        DataAccess.onEdt(search, results -> {
+            if (currentSearch != search) {
+                return;
             }
+            currentSearch = null;
+            appliedQuery = query;
+            foodListModel.setItems(results);
+            searchStatusLabel.setText(results.size() >= limit
+                    ? "Showing the first " + limit + " matches. Refine your search to narrow them down."
+                    : " ");
+        }, error -> showError("Search Error", "Could not search food items: " + error.getMessage()));
+    }
+
+    private void syncFoodItems() {
+        // Server mode always queries live data, and a running load already sees the latest rows
+        if (serverMode || currentLoad != null || currentSync != null || currentImport != null) {
+            return;
         }
+        CompletableFuture<FoodCatalogCache.Delta> sync = DataAccess.supply(cache::sync);
+        currentSync = sync;
+        DataAccess.onEdt(tasks.track(sync), delta -> {
+            currentSync = null;
+            if (delta.isReloadRequired()) {
+                showFoodItems();
+                return;
+            }
+            for (FoodItem item : delta.getChanged()) {
+                applyFoodChange(item);
+            }
+            for (int id : delta.getRemoved()) {
+                applyFoodRemoval(id);
+            }
+        }, error -> {
+            // Not worth interrupting the user for; the next tick tries again
+            currentSync = null;
+            error.printStackTrace();
+        });
+    }
 
-        foodListPanel.revalidate();
-        foodListPanel.repaint();
+    // Applies a single-row change, already written through to the cache, to the visible list in place
+    private void applyFoodChange(FoodItem item) {
+        restartPendingSearch();
+        foodListModel.upsert(item, appliedQuery != null && appliedQuery.matches(item));
+    }
+
+    private void applyFoodRemoval(int id) {
+        restartPendingSearch();
+        foodListModel.remove(id);
+    }
+
+    private void applyFoodRemovals(int[] ids) {
+        restartPendingSearch();
+        foodListModel.removeAll(ids);
+    }
+
+    // A search computed against the old catalog would be stale, so run it again
+    private void restartPendingSearch() {
+        if (currentSearch != null) {
+            cancelSearch();
+            scheduleSearch();
+        }
+    }
+
+    // Binary search by id; foodItems is kept in ascending id order
+    private static int indexOfId(List<FoodItem> items, int id) {
+        int low = 0;
+        int high = items.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = items.get(mid).getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
     }
 
     private void showAddFoodDialog() {
@@ -379,7 +660,7 @@ public class FoodChoicesPage extends JFrame {
 
         JTextField nameField = new JTextField(item != null ? item.getName() : "", 20);
         JTextField caloriesField = new JTextField(item != null ? String.valueOf(item.getCalories()) : "", 20);
-        JComboBox<String> categoryCombo = new JComboBox<>(new String[]{"Breakfast", "Lunch", "Dinner", "Snacks"});
+        JComboBox<String> categoryCombo = new JComboBox<>(FOOD_CATEGORIES);
         JTextField proteinField = new JTextField(item != null ? String.valueOf(item.getProtein()) : "", 20);
         JTextField carbsField = new JTextField(item != null ? String.valueOf(item.getCarbs()) : "", 20);
         JTextField fatsField = new JTextField(item != null ? String.valueOf(item.getFats()) : "", 20);
@@ -492,42 +773,44 @@ public class FoodChoicesPage extends JFrame {
     }
 
     private void addNewFood(JTextField nameField, JTextField caloriesField, JComboBox<String> categoryCombo, JTextField proteinField, JTextField carbsField, JTextField fatsField) {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement("INSERT INTO food_choices (food_name, calories, category, protein, carbs, fats) VALUES (?, ?, ?, ?, ?, ?)")) {
-
-            statement.setString(1, nameField.getText());
-            statement.setInt(2, Integer.parseInt(caloriesField.getText()));
-            statement.setString(3, (String) categoryCombo.getSelectedItem());
-            statement.setDouble(4, Double.parseDouble(proteinField.getText()));
-            statement.setDouble(5, Double.parseDouble(carbsField.getText()));
-            statement.setDouble(6, Double.parseDouble(fatsField.getText()));
-            statement.executeUpdate();
-
-            loadFoodItems(); // Refresh the list
+        // Read the form on the EDT, then write on the data-access executor
+        String name = nameField.getText();
+        int calories = Integer.parseInt(caloriesField.getText());
+        String category = (String) categoryCombo.getSelectedItem();
+        double protein = Double.parseDouble(proteinField.getText());
+        double carbs = Double.parseDouble(carbsField.getText());
+        double fats = Double.parseDouble(fatsField.getText());
+
+        // Write-through: the cache applies the row under its generated id, no reload needed
+        CompletableFuture<FoodItem> insert = DataAccess.supply(() ->
+                cache.insert(name, calories, category, "", protein, carbs, fats));
+
+        DataAccess.whileBusy(tasks.track(insert), this, writeControls());
+        DataAccess.onEdt(insert, added -> {
+            applyFoodChange(added);
             JOptionPane.showMessageDialog(this, "Food item added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            showError("Database Error", "Could not add food item: " + e.getMessage());
-        }
+        }, error -> showError("Database Error", "Could not add food item: " + error.getMessage()));
     }
 
     private void updateFood(FoodItem item, JTextField nameField, JTextField caloriesField, JComboBox<String> categoryCombo, JTextField proteinField, JTextField carbsField, JTextField fatsField) {
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement("UPDATE food_choices SET food_name = ?, calories = ?, category = ?, protein = ?, carbs = ?, fats = ? WHERE id = ?")) {
-
-            statement.setString(1, nameField.getText());
-            statement.setInt(2, Integer.parseInt(caloriesField.getText()));
-            statement.setString(3, (String) categoryCombo.getSelectedItem());
-            statement.setDouble(4, Double.parseDouble(proteinField.getText()));
-            statement.setDouble(5, Double.parseDouble(carbsField.getText()));
-            statement.setDouble(6, Double.parseDouble(fatsField.getText()));
-            statement.setInt(7, item.getId());
-            statement.executeUpdate();
-
-            loadFoodItems(); // Refresh the list
+        String name = nameField.getText();
+        int calories = Integer.parseInt(caloriesField.getText());
+        String category = (String) categoryCombo.getSelectedItem();
+        double protein = Double.parseDouble(proteinField.getText());
+        double carbs = Double.parseDouble(carbsField.getText());
+        double fats = Double.parseDouble(fatsField.getText());
+
+        FoodItem updated = new FoodItem(item.getId(), name, calories, category, item.getDescription(), protein, carbs, fats);
+        CompletableFuture<FoodItem> update = DataAccess.supply(() -> {
+            cache.update(updated);
+            return updated;
+        });
+
+        DataAccess.whileBusy(tasks.track(update), this, writeControls());
+        DataAccess.onEdt(update, changed -> {
+            applyFoodChange(changed);
             JOptionPane.showMessageDialog(this, "Food item updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            showError("Database Error", "Could not update food item: " + e.getMessage());
-        }
+        }, error -> showError("Database Error", "Could not update food item: " + error.getMessage()));
     }
 
     private void deleteFoodItem(FoodItem item) {
@@ -540,63 +823,474 @@ public class FoodChoicesPage extends JFrame {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try (Connection connection = DatabaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("DELETE FROM food_choices WHERE id = ?")) {
-
-                statement.setInt(1, item.getId());
-                statement.executeUpdate();
-                loadFoodItems(); // Refresh the list
+            CompletableFuture<Integer> delete = DataAccess.supply(() -> {
+                cache.delete(item.getId());
+                return item.getId();
+            });
+
+            DataAccess.whileBusy(tasks.track(delete), this, writeControls());
+            DataAccess.onEdt(delete, id -> {
+                applyFoodRemoval(id);
                 JOptionPane.showMessageDialog(this, "Food item deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException e) {
-                showError("Database Error", "Could not delete food item: " + e.getMessage());
+            }, error -> showError("Database Error", "Could not delete food item: " + error.getMessage()));
+        }
+    }
+
+    private void deleteSelectedFoods() {
+        List<FoodItem> selected = foodList.getSelectedValuesList();
+        if (selected.isEmpty()) {
+            showError("No Selection", "Select one or more food items first.");
+            return;
+        }
+
+        int confirm = JOptionPane.showConfirmDialog(
+                this,
+                "Are you sure you want to delete " + selected.size() + " food items?",
+                "Confirm Deletion",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE
+        );
+
+        if (confirm == JOptionPane.YES_OPTION) {
+            int[] ids = selected.stream().mapToInt(FoodItem::getId).toArray();
+            CompletableFuture<int[]> delete = DataAccess.supply(() -> {
+                cache.deleteAll(ids);
+                return ids;
+            });
+
+            DataAccess.whileBusy(tasks.track(delete), this, writeControls());
+            DataAccess.onEdt(delete, removed -> {
+                applyFoodRemovals(removed);
+                JOptionPane.showMessageDialog(this, removed.length + " food items deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            }, error -> showError("Database Error", "Could not delete food items: " + error.getMessage()));
+        }
+    }
+
+    private void changeSelectedCategory() {
+        List<FoodItem> selected = foodList.getSelectedValuesList();
+        if (selected.isEmpty()) {
+            showError("No Selection", "Select one or more food items first.");
+            return;
+        }
+
+        String category = (String) JOptionPane.showInputDialog(
+                this,
+                "Move " + selected.size() + " food items to:",
+                "Change Category",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                FOOD_CATEGORIES,
+                selected.get(0).getCategory()
+        );
+        if (category == null) {
+            return;
+        }
+
+        List<FoodItem> updated = new ArrayList<>(selected.size());
+        for (FoodItem item : selected) {
+            updated.add(item.withCategory(category));
+        }
+        CompletableFuture<List<FoodItem>> update = DataAccess.supply(() -> {
+            cache.updateAll(updated);
+            return updated;
+        });
+
+        DataAccess.whileBusy(tasks.track(update), this, writeControls());
+        DataAccess.onEdt(update, changed -> {
+            for (FoodItem item : changed) {
+                applyFoodChange(item);
             }
+            JOptionPane.showMessageDialog(this, changed.size() + " food items updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+        }, error -> showError("Database Error", "Could not update food items: " + error.getMessage()));
+    }
+
+    // Adds the selected foods to today's meal log, one entry each with the same number of servings
+    private void logSelectedAsEaten() {
+        User user = UserSession.getCurrentUser();
+        if (user == null) {
+            showError("Not Signed In", "Sign in to keep a meal log.");
+            return;
+        }
+        List<FoodItem> selected = foodList.getSelectedValuesList();
+        if (selected.isEmpty()) {
+            showError("No Selection", "Select one or more food items first.");
+            return;
         }
+
+        String input = JOptionPane.showInputDialog(this, "Servings eaten:", "1");
+        if (input == null) {
+            return;
+        }
+        double servings;
+        try {
+            servings = Double.parseDouble(input.trim());
+        } catch (NumberFormatException e) {
+            servings = 0;
+        }
+        if (!(servings > 0 && servings < 10000)) {
+            showError("Input Error", "Servings must be a positive number.");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<MealEntry> entries = new ArrayList<>(selected.size());
+        for (FoodItem item : selected) {
+            entries.add(MealEntry.of(item, today, servings));
+        }
+        // One transaction for the whole selection: either every item is logged or none is
+        CompletableFuture<List<MealEntry>> log = DataAccess.supply(() -> {
+            Repositories.meals().logAll(user.getId(), entries);
+            IntakeStats stats = IntakeStats.forUser(user.getId());
+            for (MealEntry entry : entries) {
+                stats.record(entry, 1);
+            }
+            return entries;
+        });
+
+        DataAccess.whileBusy(tasks.track(log), this, writeControls());
+        DataAccess.onEdt(log, logged -> {
+            double calories = 0;
+            for (MealEntry entry : logged) {
+                calories += entry.getCalories();
+            }
+            JOptionPane.showMessageDialog(this, logged.size() + " food items logged for today ("
+                    + Math.round(calories) + " kcal).", "Success", JOptionPane.INFORMATION_MESSAGE);
+        }, error -> showError("Database Error", "Could not log meal: " + error.getMessage()));
+    }
+
+    private void importFoodsFromCsv() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        FoodCsvImporter importer = new FoodCsvImporter(chooser.getSelectedFile().toPath());
+
+        JDialog progressDialog = new JDialog(this, "Importing Foods", false);
+        progressDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        panel.setBackground(SECONDARY_COLOR);
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        JLabel progressLabel = new JLabel("Starting import...");
+        progressLabel.setFont(MAIN_FONT);
+        JButton stopButton = new JButton("Stop");
+        stopButton.addActionListener(e -> {
+            stopButton.setEnabled(false);
+            progressLabel.setText("Stopping after the current batch...");
+            importer.cancel();
+        });
+        panel.add(progressLabel, BorderLayout.NORTH);
+        panel.add(progressBar, BorderLayout.CENTER);
+        panel.add(stopButton, BorderLayout.SOUTH);
+        progressDialog.add(panel);
+        progressDialog.setSize(420, 160);
+        progressDialog.setLocationRelativeTo(this);
+        progressDialog.setVisible(true);
+
+        CompletableFuture<FoodCsvImporter.Result> importing = DataAccess.supply(() -> {
+            // Bulk loading talks to MySQL directly rather than through the FoodRepository
+            try (Connection connection = DatabaseConnection.borrow()) {
+                return importer.run(connection, (bytesRead, totalBytes, imported, rejected) -> SwingUtilities.invokeLater(() -> {
+                    progressBar.setValue(totalBytes == 0 ? 1000 : (int) (1000 * bytesRead / totalBytes));
+                    if (stopButton.isEnabled()) {
+                        progressLabel.setText(String.format("%,d imported, %,d rejected", imported, rejected));
+                    }
+                }));
+            }
+        });
+        currentImport = importing;
+
+        DataAccess.whileBusy(tasks.track(importing), this, writeControls());
+        DataAccess.onEdt(importing, result -> {
+            currentImport = null;
+            progressDialog.dispose();
+            StringBuilder message = new StringBuilder(String.format("%,d food items imported%s.",
+                    result.getRowsImported(), result.isResumed() ? " (resumed)" : ""));
+            if (result.getRowsRejected() > 0) {
+                message.append(String.format("%n%,d rows were rejected:", result.getRowsRejected()));
+                for (String error : result.getErrors()) {
+                    message.append("\n  ").append(error);
+                }
+            }
+            JOptionPane.showMessageDialog(this, message.toString(), "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+            showFoodItems();
+        }, error -> {
+            currentImport = null;
+            progressDialog.dispose();
+            if (error instanceof InterruptedIOException) {
+                JOptionPane.showMessageDialog(this, "Import stopped. Import the same file again to continue where it left off.",
+                        "Import Stopped", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                showError("Import Error", "Could not import food items: " + error.getMessage());
+            }
+            // Whatever was committed before the stop is in the table now
+            showFoodItems();
+        });
+    }
+
+    // Buttons that start a write, disabled while a load or another write is running
+    private JComponent[] writeControls() {
+        return new JComponent[]{addFoodButton, deleteSelectedButton, changeCategoryButton, importButton, logMealButton};
+    }
+
+    @Override
+    public void dispose() {
+        syncTimer.stop();
+        cancelSearch();
+        tasks.cancelAll();
+        super.dispose();
     }
 
     private void showError(String title, String message) {
         JOptionPane.showMessageDialog(this, message, title, JOptionPane.ERROR_MESSAGE);
     }
 
-    // Inner class to represent a food item
-    private static class FoodItem {
-        private final int id;
-        private final String name;
-        private final int calories;
+    // List model over the currently visible food items, firing range events instead of rebuilding the view
+    private static class FoodListModel extends AbstractListModel<FoodItem> {
+        private List<FoodItem> items = new ArrayList<>();
+
+        @Override
+        public int getSize() {
+            return items.size();
+        }
+
+        @Override
+        public FoodItem getElementAt(int index) {
+            return items.get(index);
+        }
+
+        public void setItems(List<FoodItem> newItems) {
+            int oldSize = items.size();
+            items = newItems;
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            if (!newItems.isEmpty()) {
+                fireIntervalAdded(this, 0, newItems.size() - 1);
+            }
+        }
+
+        public List<FoodItem> snapshot() {
+            return List.copyOf(items);
+        }
+
+        // Keeps the row for this item in id order: replaced, inserted or removed depending on visibility
+        public void upsert(FoodItem item, boolean visible) {
+            int position = indexOfId(items, item.getId());
+            if (position >= 0) {
+                if (visible) {
+                    items.set(position, item);
+                    fireContentsChanged(this, position, position);
+                } else {
+                    items.remove(position);
+                    fireIntervalRemoved(this, position, position);
+                }
+            } else if (visible) {
+                position = -position - 1;
+                items.add(position, item);
+                fireIntervalAdded(this, position, position);
+            }
+        }
+
+        public void remove(int id) {
+            int position = indexOfId(items, id);
+            if (position >= 0) {
+                items.remove(position);
+                fireIntervalRemoved(this, position, position);
+            }
+        }
+
+        // Removes every row whose id is in ids, firing one event per contiguous run of removed rows
+        public void removeAll(int[] ids) {
+            int[] sorted = ids.clone();
+            Arrays.sort(sorted);
+            List<FoodItem> kept = new ArrayList<>(items.size());
+            List<int[]> runs = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                FoodItem item = items.get(i);
+                if (Arrays.binarySearch(sorted, item.getId()) < 0) {
+                    kept.add(item);
+                } else if (!runs.isEmpty() && runs.get(runs.size() - 1)[1] == i - 1) {
+                    runs.get(runs.size() - 1)[1] = i;
+                } else {
+                    runs.add(new int[]{i, i});
+                }
+            }
+            items = kept;
+            // Back to front, so each interval is still valid for listeners applying them in order
+            for (int r = runs.size() - 1; r >= 0; r--) {
+                fireIntervalRemoved(this, runs.get(r)[0], runs.get(r)[1]);
+            }
+        }
+
+        public void addAll(List<FoodItem> added) {
+            if (added.isEmpty()) {
+                return;
+            }
+            int start = items.size();
+            items.addAll(added);
+            fireIntervalAdded(this, start, items.size() - 1);
+        }
+    }
+
+    // Single reusable card that paints every row of the food list
+    private class FoodItemRenderer extends JPanel implements ListCellRenderer<FoodItem> {
+        private final JPanel card = new JPanel(new BorderLayout(10, 10));
+        private final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel caloriesLabel = new JLabel();
+        private final JLabel categoryLabel = new JLabel();
+        private final JLabel proteinLabel = new JLabel();
+        private final JLabel carbsLabel = new JLabel();
+        private final JLabel fatsLabel = new JLabel();
+        private final JButton editButton = new JButton("✏️");
+        private final JButton deleteButton = new JButton("🗑️");
+
+        private int hoverIndex = -1;
+        private JButton hoverButton;
+
+        FoodItemRenderer() {
+            super(new BorderLayout());
+            setBackground(SECONDARY_COLOR);
+            setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+
+            card.setBackground(Color.WHITE);
+            card.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(PRIMARY_COLOR),
+                    BorderFactory.createEmptyBorder(10, 15, 10, 15)
+            ));
+
+            // Left side - Basic info
+            JPanel infoPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+            infoPanel.setBackground(Color.WHITE);
+            nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 16));
+            infoPanel.add(nameLabel);
+            infoPanel.add(caloriesLabel);
+            infoPanel.add(categoryLabel);
+
+            // Right side - Nutritional info
+            JPanel nutritionPanel = new JPanel(new GridLayout(0, 1, 5, 5));
+            nutritionPanel.setBackground(Color.WHITE);
+            nutritionPanel.add(proteinLabel);
+            nutritionPanel.add(carbsLabel);
+            nutritionPanel.add(fatsLabel);
+
+            // Buttons panel
+            buttonPanel.setBackground(Color.WHITE);
+            styleIconButton(editButton);
+            styleIconButton(deleteButton);
+            buttonPanel.add(editButton);
+            buttonPanel.add(deleteButton);
+
+            card.add(infoPanel, BorderLayout.WEST);
+            card.add(nutritionPanel, BorderLayout.CENTER);
+            card.add(buttonPanel, BorderLayout.EAST);
+            add(card, BorderLayout.CENTER);
+
+            // Size the fixed row height from a representative item
+            configure(new FoodItem(0, "Food", 0, "Category", "", 0, 0, 0), -1);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends FoodItem> list, FoodItem item, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            configure(item, index);
+            return this;
+        }
+
+        private void configure(FoodItem item, int index) {
+            nameLabel.setText(item.getName());
+            caloriesLabel.setText("Calories: " + item.getCalories());
+            categoryLabel.setText("Category: " + item.getCategory());
+            proteinLabel.setText(String.format("Protein: %.1fg", item.getProtein()));
+            carbsLabel.setText(String.format("Carbs: %.1fg", item.getCarbs()));
+            fatsLabel.setText(String.format("Fats: %.1fg", item.getFats()));
+
+            boolean hovered = index >= 0 && index == hoverIndex;
+            editButton.setBackground(hovered && hoverButton == editButton ? SECONDARY_COLOR : Color.WHITE);
+            deleteButton.setBackground(hovered && hoverButton == deleteButton ? SECONDARY_COLOR : Color.WHITE);
+        }
+
+        // Lays the renderer out in the given row and returns the button under the point, if any
+        JButton buttonAt(JList<FoodItem> list, int index, Point point) {
+            Rectangle cell = list.getCellBounds(index, index);
+            configure(list.getModel().getElementAt(index), index);
+            setBounds(0, 0, cell.width, cell.height);
+            layoutTree(this);
+
+            for (JButton button : new JButton[]{editButton, deleteButton}) {
+                Rectangle bounds = SwingUtilities.convertRectangle(buttonPanel, button.getBounds(), this);
+                bounds.translate(cell.x, cell.y);
+                if (bounds.contains(point)) {
+                    return button;
+                }
+            }
+            return null;
+        }
+
+        // validate() is a no-op off-screen, so lay the detached renderer out by hand
+        private void layoutTree(Container container) {
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                if (child instanceof Container) {
+                    layoutTree((Container) child);
+                }
+            }
+        }
+    }
+
+    // Immutable description of the active search and filters
+    private static final class SearchQuery {
+        private final String text;
         private final String category;
-        private final String description;
-        private final double protein;
-        private final double carbs;
-        private final double fats;
-
-        public FoodItem(int id, String name, int calories, String category, String description, double protein, double carbs, double fats) {
-            this.id = id;
-            this.name = name;
-            this.calories = calories;
+        private final int maxCalories;
+
+        SearchQuery(String text, String category, int maxCalories) {
+            this.text = text;
             this.category = category;
-            this.description = description;
-            this.protein = protein;
-            this.carbs = carbs;
-            this.fats = fats;
-        }
-
-        public int getId() { return id; }
-        public String getName() { return name; }
-        public int getCalories() { return calories; }
-        public String getCategory() { return category; }
-        public String getDescription() { return description; }
-        public double getProtein() { return protein; }
-        public double getCarbs() { return carbs; }
-        public double getFats() { return fats; }
-
-        public boolean matches(String searchText, String category, int maxCalories) {
-            boolean matchesSearch = searchText.isEmpty() ||
-                    name.toLowerCase().contains(searchText) ||
-                    description.toLowerCase().contains(searchText);
-            boolean matchesCategory = category.equals("All Categories") ||
-                    this.category.equals(category);
-            boolean matchesCalories = calories <= maxCalories;
-
-            return matchesSearch && matchesCategory && matchesCalories;
+            this.maxCalories = maxCalories;
+        }
+
+        // True when every match of this query is also a match of the previous one
+        boolean narrows(SearchQuery previous) {
+            return text.contains(previous.text)
+                    && (previous.category.equals("All Categories") || previous.category.equals(category))
+                    && maxCalories <= previous.maxCalories;
+        }
+
+        List<FoodItem> filter(List<FoodItem> items) {
+            List<FoodItem> matches = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                // Let a superseded search stop early
+                if ((i & 1023) == 0 && Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Search superseded");
+                }
+                FoodItem item = items.get(i);
+                if (matches(item)) {
+                    matches.add(item);
+                }
+            }
+            return matches;
+        }
+
+        boolean matches(FoodItem item) {
+            return item.matches(text, category, maxCalories);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SearchQuery)) {
+                return false;
+            }
+            SearchQuery other = (SearchQuery) o;
+            return maxCalories == other.maxCalories && text.equals(other.text) && category.equals(other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, category, maxCalories);
         }
     }
 
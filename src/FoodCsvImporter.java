@@ -0,0 +1,742 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Streams a CSV file of foods into food_choices.
+// Expected columns: name, calories, category, protein, carbs, fats[, description]; a header row is skipped.
+//
+// A parser thread reads the file through a byte buffer and fills row batches; the calling thread
+// inserts each batch with one executeBatch and commits it together with a checkpoint row. Batches are
+// recycled through a fixed pool, so memory stays bounded and the parser waits whenever the database
+// falls behind. An interrupted or failed import resumes from the last committed batch when run again.
+public class FoodCsvImporter {
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("fitness.import.batchSize", 5000);
+    // Parsed batches allowed to wait for the database before the parser blocks
+    public static final int DEFAULT_PENDING_BATCHES = Integer.getInteger("fitness.import.pendingBatches", 4);
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final int MAX_NAME_LENGTH = 100;
+    // Longest record the reader buffers, and most columns it tracks. Anything bigger (say, a stray
+    // unclosed quote swallowing the rest of the file) is skipped as one rejected row, so memory stays
+    // bounded whatever the input.
+    private static final int MAX_RECORD_BYTES = Integer.getInteger("fitness.import.maxRecordBytes", 1 << 16);
+    private static final int MAX_FIELDS = 16;
+    // protein, carbs and fats are DECIMAL(5,2)
+    private static final double MAX_NUTRIENT = 999.99;
+    private static final String[] CATEGORIES = {"Breakfast", "Lunch", "Dinner", "Snacks"};
+
+    private final Path csvFile;
+    private final int batchSize;
+    private final int pendingBatches;
+    private volatile boolean cancelled;
+
+    // Receives progress on the importing thread after every committed batch
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long bytesRead, long totalBytes, long rowsImported, long rowsRejected);
+    }
+
+    public FoodCsvImporter(Path csvFile) {
+        this(csvFile, DEFAULT_BATCH_SIZE, DEFAULT_PENDING_BATCHES);
+    }
+
+    public FoodCsvImporter(Path csvFile, int batchSize, int pendingBatches) {
+        if (batchSize < 1 || pendingBatches < 1) {
+            throw new IllegalArgumentException("Invalid batch settings: size=" + batchSize + ", pending=" + pendingBatches);
+        }
+        this.csvFile = csvFile;
+        this.batchSize = batchSize;
+        this.pendingBatches = pendingBatches;
+    }
+
+    // Asks a running import to stop after the current batch, as if its thread had been interrupted
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Runs the import on the calling thread. Interrupting it stops after the current batch;
+    // everything committed so far stays, and the next run continues from there.
+    public Result run(Connection connection, ProgressListener listener) throws IOException, SQLException {
+        String source = csvFile.toAbsolutePath().normalize().toString();
+        long totalBytes = Files.size(csvFile);
+        long modified = Files.getLastModifiedTime(csvFile).toMillis();
+
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            Checkpoint start = readCheckpoint(connection, source, totalBytes, modified);
+            Parser parser = new Parser(start);
+            Thread parserThread = new Thread(parser, "food-csv-parser");
+            parserThread.setDaemon(true);
+            parserThread.start();
+
+            try {
+                Checkpoint done = write(connection, parser, source, totalBytes, modified, start, listener);
+                if (done == null) {
+                    throw new InterruptedIOException("Import interrupted; run it again to resume");
+                }
+                // Finished: the checkpoint has served its purpose
+                deleteCheckpoint(connection, source);
+                connection.commit();
+                return new Result(done.rowsImported, done.rowsRejected, start.byteOffset > 0, parser.errorSample());
+            } finally {
+                parserThread.interrupt();
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            // The catalog changed underneath the shared cache
+            FoodCatalogCache.getInstance().invalidate();
+        }
+    }
+
+    // Inserts batches until the parser is done. Returns the final checkpoint, or null if interrupted.
+    private Checkpoint write(Connection connection, Parser parser, String source, long totalBytes, long modified,
+                             Checkpoint start, ProgressListener listener) throws IOException, SQLException {
+        Checkpoint current = start;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO food_choices (food_name, calories, category, protein, carbs, fats, description) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            while (true) {
+                RowBatch batch;
+                try {
+                    batch = parser.full.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                if (batch.error instanceof IOException) {
+                    throw (IOException) batch.error;
+                }
+                if (batch.error != null) {
+                    throw new IOException("Could not parse " + csvFile.getFileName() + ": " + batch.error, batch.error);
+                }
+
+                for (int i = 0; i < batch.size; i++) {
+                    insert.setString(1, batch.names[i]);
+                    insert.setInt(2, batch.calories[i]);
+                    insert.setString(3, batch.categories[i]);
+                    insert.setDouble(4, batch.protein[i]);
+                    insert.setDouble(5, batch.carbs[i]);
+                    insert.setDouble(6, batch.fats[i]);
+                    insert.setString(7, batch.descriptions[i]);
+                    insert.addBatch();
+                }
+                if (batch.size > 0) {
+                    insert.executeBatch();
+                }
+                current = new Checkpoint(batch.endOffset, current.rowsImported + batch.size, batch.rejectedTotal);
+                saveCheckpoint(connection, source, totalBytes, modified, current);
+                connection.commit();
+
+                boolean last = batch.last;
+                parser.recycle(batch);
+                if (listener != null) {
+                    listener.onProgress(current.byteOffset, totalBytes, current.rowsImported, current.rowsRejected);
+                }
+                if (last) {
+                    return current;
+                }
+                if (cancelled || Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static Checkpoint readCheckpoint(Connection connection, String source, long size, long modified) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT file_size, file_modified, byte_offset, rows_imported, rows_rejected FROM food_import_checkpoint WHERE source = ?")) {
+            statement.setString(1, source);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                // A checkpoint for a different version of the file is useless; start over
+                if (resultSet.next() && resultSet.getLong(1) == size && resultSet.getLong(2) == modified) {
+                    return new Checkpoint(resultSet.getLong(3), resultSet.getLong(4), resultSet.getLong(5));
+                }
+            }
+        }
+        return new Checkpoint(0, 0, 0);
+    }
+
+    private static void saveCheckpoint(Connection connection, String source, long size, long modified,
+                                       Checkpoint checkpoint) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO food_import_checkpoint (source, file_size, file_modified, byte_offset, rows_imported, rows_rejected) " +
+                        "VALUES (?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE file_size = VALUES(file_size), " +
+                        "file_modified = VALUES(file_modified), byte_offset = VALUES(byte_offset), " +
+                        "rows_imported = VALUES(rows_imported), rows_rejected = VALUES(rows_rejected)")) {
+            statement.setString(1, source);
+            statement.setLong(2, size);
+            statement.setLong(3, modified);
+            statement.setLong(4, checkpoint.byteOffset);
+            statement.setLong(5, checkpoint.rowsImported);
+            statement.setLong(6, checkpoint.rowsRejected);
+            statement.executeUpdate();
+        }
+    }
+
+    private static void deleteCheckpoint(Connection connection, String source) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM food_import_checkpoint WHERE source = ?")) {
+            statement.setString(1, source);
+            statement.executeUpdate();
+        }
+    }
+
+    // Position after the last committed batch
+    private static final class Checkpoint {
+        private final long byteOffset;
+        private final long rowsImported;
+        private final long rowsRejected;
+
+        Checkpoint(long byteOffset, long rowsImported, long rowsRejected) {
+            this.byteOffset = byteOffset;
+            this.rowsImported = rowsImported;
+            this.rowsRejected = rowsRejected;
+        }
+    }
+
+    // Outcome of a completed import
+    public static final class Result {
+        private final long rowsImported;
+        private final long rowsRejected;
+        private final boolean resumed;
+        private final List<String> errors;
+
+        Result(long rowsImported, long rowsRejected, boolean resumed, List<String> errors) {
+            this.rowsImported = rowsImported;
+            this.rowsRejected = rowsRejected;
+            this.resumed = resumed;
+            this.errors = errors;
+        }
+
+        public long getRowsImported() {
+            return rowsImported;
+        }
+
+        public long getRowsRejected() {
+            return rowsRejected;
+        }
+
+        // True when this run continued an earlier, interrupted import of the same file
+        public boolean isResumed() {
+            return resumed;
+        }
+
+        // The first few rejected rows with the reason, e.g. "line 12: calories is not a whole number"
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    // Column-wise rows, reused from one batch to the next so the parser allocates little beyond the strings
+    private static final class RowBatch {
+        private final String[] names;
+        private final int[] calories;
+        private final String[] categories;
+        private final double[] protein;
+        private final double[] carbs;
+        private final double[] fats;
+        private final String[] descriptions;
+        private int size;
+        private long endOffset;
+        private long rejectedTotal;
+        private boolean last;
+        private Throwable error;
+
+        RowBatch(int capacity) {
+            names = new String[capacity];
+            calories = new int[capacity];
+            categories = new String[capacity];
+            protein = new double[capacity];
+            carbs = new double[capacity];
+            fats = new double[capacity];
+            descriptions = new String[capacity];
+        }
+
+        void reset() {
+            size = 0;
+            last = false;
+            error = null;
+        }
+    }
+
+    // Producer side of the pipeline: validates rows into batches taken from the free pool
+    private final class Parser implements Runnable {
+        private final BlockingQueue<RowBatch> free = new ArrayBlockingQueue<>(pendingBatches + 1);
+        private final BlockingQueue<RowBatch> full = new ArrayBlockingQueue<>(pendingBatches + 1);
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private final Checkpoint start;
+
+        Parser(Checkpoint start) {
+            this.start = start;
+            for (int i = 0; i <= pendingBatches; i++) {
+                free.add(new RowBatch(batchSize));
+            }
+        }
+
+        void recycle(RowBatch batch) {
+            batch.reset();
+            free.add(batch);
+        }
+
+        List<String> errorSample() {
+            synchronized (errors) {
+                return new ArrayList<>(errors);
+            }
+        }
+
+        @Override
+        public void run() {
+            RowBatch batch = null;
+            try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ);
+                 CsvReader reader = new CsvReader(channel.position(start.byteOffset), start.byteOffset)) {
+                long rejected = start.rowsRejected;
+                long line = 0;
+                batch = free.take();
+
+                while (reader.next()) {
+                    line++;
+                    if (reader.isBlankRecord()) {
+                        continue;
+                    }
+                    String problem = validate(reader);
+                    if (problem != null) {
+                        if (line == 1 && start.byteOffset == 0 && !reader.isOversized() && !reader.isInt(1)) {
+                            continue; // header row
+                        }
+                        rejected++;
+                        if (errors.size() < MAX_REPORTED_ERRORS) {
+                            errors.add((start.byteOffset == 0 ? "line " + line : "record at byte " + reader.recordStart())
+                                    + ": " + problem);
+                        }
+                        continue;
+                    }
+                    addRow(batch, reader);
+
+                    if (batch.size == batchSize) {
+                        batch.endOffset = reader.position();
+                        batch.rejectedTotal = rejected;
+                        full.put(batch);
+                        batch = null;
+                        batch = free.take(); // blocks while the writer is behind
+                    }
+                }
+                batch.endOffset = reader.position();
+                batch.rejectedTotal = rejected;
+                batch.last = true;
+                full.put(batch);
+            } catch (InterruptedException e) {
+                // The writer gave up; nothing left to do
+            } catch (Throwable e) {
+                // Whatever went wrong, the writer is waiting for a batch and must get one to stop on
+                if (batch == null) {
+                    batch = new RowBatch(0);
+                }
+                batch.size = 0;
+                batch.error = e;
+                try {
+                    full.put(batch);
+                } catch (InterruptedException interrupted) {
+                    // The writer gave up already
+                }
+            }
+        }
+
+        private String validate(CsvReader reader) {
+            if (reader.isOversized()) {
+                return "record is longer than " + MAX_RECORD_BYTES + " bytes or has more than " + MAX_FIELDS
+                        + " columns (unclosed quote?)";
+            }
+            if (reader.fieldCount() < 6 || reader.fieldCount() > 7) {
+                return "expected 6 or 7 columns, found " + reader.fieldCount();
+            }
+            int nameLength = reader.trimmedCharLength(0);
+            if (nameLength == 0) {
+                return "name is empty";
+            }
+            if (nameLength > MAX_NAME_LENGTH) {
+                return "name is longer than " + MAX_NAME_LENGTH + " characters";
+            }
+            try {
+                if (reader.parseInt(1) < 0) {
+                    return "calories is negative";
+                }
+            } catch (NumberFormatException e) {
+                return "calories is not a whole number";
+            }
+            if (category(reader) == null) {
+                return "unknown category";
+            }
+            String[] nutrients = {"protein", "carbs", "fats"};
+            for (int i = 0; i < nutrients.length; i++) {
+                try {
+                    double value = reader.parseDouble(3 + i);
+                    if (!(value >= 0 && value <= MAX_NUTRIENT)) {
+                        return nutrients[i] + " must be between 0 and " + MAX_NUTRIENT;
+                    }
+                } catch (NumberFormatException e) {
+                    return nutrients[i] + " is not a number";
+                }
+            }
+            return null;
+        }
+
+        private void addRow(RowBatch batch, CsvReader reader) {
+            int row = batch.size++;
+            batch.names[row] = reader.string(0).trim();
+            batch.calories[row] = reader.parseInt(1);
+            batch.categories[row] = category(reader);
+            batch.protein[row] = reader.parseDouble(3);
+            batch.carbs[row] = reader.parseDouble(4);
+            batch.fats[row] = reader.parseDouble(5);
+            batch.descriptions[row] = reader.fieldCount() > 6 ? reader.string(6) : "";
+        }
+
+        // The canonical category constant, so category strings are never allocated per row
+        private String category(CsvReader reader) {
+            for (String category : CATEGORIES) {
+                if (reader.equalsIgnoreCase(2, category)) {
+                    return category;
+                }
+            }
+            return null;
+        }
+    }
+
+    // Minimal RFC 4180 reader working on UTF-8 bytes. Fields of the current record live in one reusable
+    // byte array; strings are only decoded for the columns that need them. position() is the byte offset
+    // just past the current record, which is what the checkpoint records.
+    static final class CsvReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final byte[] input = buffer.array();
+        private int pos;
+        private int limit;
+        private long bufferStart;
+        private long recordStart;
+
+        private byte[] record = new byte[1024];
+        private int recordLength;
+        private int[] fieldStarts = new int[8];
+        private int[] fieldEnds = new int[8];
+        private int fieldCount;
+        // The current record went past MAX_RECORD_BYTES or MAX_FIELDS; the rest of it is read but not kept
+        private boolean oversized;
+        // Bytes of the current field so far, counted even once oversized so quotes are still recognised
+        private int fieldBytes;
+
+        CsvReader(FileChannel channel, long offset) {
+            this.channel = channel;
+            this.bufferStart = offset;
+        }
+
+        // Reads the next record; false at end of file
+        boolean next() throws IOException {
+            recordStart = position();
+            recordLength = 0;
+            fieldCount = 0;
+            oversized = false;
+            startField();
+
+            boolean any = false;
+            boolean inQuotes = false;
+            boolean quoteSeen = false;
+            while (true) {
+                if (pos == limit && !fill()) {
+                    if (!any) {
+                        return false;
+                    }
+                    endField();
+                    return true;
+                }
+                byte b = input[pos++];
+                any = true;
+
+                if (inQuotes) {
+                    if (quoteSeen) {
+                        quoteSeen = false;
+                        if (b == '"') {
+                            append(b); // "" inside quotes is a literal quote
+                            continue;
+                        }
+                        inQuotes = false; // closing quote; handle b as unquoted below
+                    } else if (b == '"') {
+                        quoteSeen = true;
+                        continue;
+                    } else {
+                        append(b);
+                        continue;
+                    }
+                }
+
+                if (b == ',') {
+                    endField();
+                    startField();
+                } else if (b == '\n') {
+                    endField();
+                    return true;
+                } else if (b == '"' && fieldBytes == 0) {
+                    inQuotes = true;
+                } else if (b != '\r') {
+                    append(b);
+                }
+            }
+        }
+
+        long position() {
+            return bufferStart + pos;
+        }
+
+        long recordStart() {
+            return recordStart;
+        }
+
+        int fieldCount() {
+            return fieldCount;
+        }
+
+        boolean isOversized() {
+            return oversized;
+        }
+
+        boolean isBlankRecord() {
+            return fieldCount == 1 && length(0) == 0;
+        }
+
+        int length(int field) {
+            return fieldEnds[field] - fieldStarts[field];
+        }
+
+        // Characters in the field without surrounding spaces, counted on the UTF-8 bytes
+        int trimmedCharLength(int field) {
+            int start = fieldStarts[field];
+            int end = fieldEnds[field];
+            while (start < end && record[start] == ' ') {
+                start++;
+            }
+            while (end > start && record[end - 1] == ' ') {
+                end--;
+            }
+            int chars = 0;
+            for (int i = start; i < end; i++) {
+                if ((record[i] & 0xC0) != 0x80) {
+                    chars++;
+                }
+            }
+            return chars;
+        }
+
+        boolean isInt(int field) {
+            if (field >= fieldCount) {
+                return false;
+            }
+            try {
+                parseInt(field);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        String string(int field) {
+            return new String(record, fieldStarts[field], length(field), StandardCharsets.UTF_8);
+        }
+
+        boolean equalsIgnoreCase(int field, String ascii) {
+            int start = fieldStarts[field];
+            int end = fieldEnds[field];
+            while (start < end && record[start] == ' ') {
+                start++;
+            }
+            while (end > start && record[end - 1] == ' ') {
+                end--;
+            }
+            if (end - start != ascii.length()) {
+                return false;
+            }
+            for (int i = 0; i < ascii.length(); i++) {
+                if (Character.toLowerCase((char) record[start + i]) != Character.toLowerCase(ascii.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Parses the field as an int without creating a String
+        int parseInt(int field) {
+            int i = fieldStarts[field];
+            int end = fieldEnds[field];
+            while (i < end && record[i] == ' ') {
+                i++;
+            }
+            while (end > i && record[end - 1] == ' ') {
+                end--;
+            }
+            boolean negative = i < end && record[i] == '-';
+            if (negative || (i < end && record[i] == '+')) {
+                i++;
+            }
+            if (i == end) {
+                throw new NumberFormatException("empty");
+            }
+            long value = 0;
+            for (; i < end; i++) {
+                int digit = record[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("not a digit");
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE) {
+                    throw new NumberFormatException("too large");
+                }
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        // Plain decimals ("12", "3.75") are parsed in place; anything fancier goes through Double.parseDouble
+        double parseDouble(int field) {
+            int i = fieldStarts[field];
+            int end = fieldEnds[field];
+            while (i < end && record[i] == ' ') {
+                i++;
+            }
+            while (end > i && record[end - 1] == ' ') {
+                end--;
+            }
+            int first = i;
+            boolean negative = i < end && record[i] == '-';
+            if (negative) {
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int scale = -1;
+            for (; i < end; i++) {
+                byte b = record[i];
+                if (b == '.' && scale < 0) {
+                    scale = 0;
+                } else if (b >= '0' && b <= '9' && digits < 15) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else {
+                    return Double.parseDouble(new String(record, first, end - first, StandardCharsets.US_ASCII));
+                }
+            }
+            if (digits == 0) {
+                throw new NumberFormatException("empty");
+            }
+            // Both operands are exact doubles, so the division rounds correctly
+            double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+            return negative ? -value : value;
+        }
+
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+        };
+
+        private void startField() {
+            fieldBytes = 0;
+            if (oversized) {
+                return;
+            }
+            if (fieldCount == MAX_FIELDS) {
+                oversized = true;
+                return;
+            }
+            if (fieldCount == fieldStarts.length) {
+                fieldStarts = Arrays.copyOf(fieldStarts, Math.min(fieldCount * 2, MAX_FIELDS));
+                fieldEnds = Arrays.copyOf(fieldEnds, Math.min(fieldCount * 2, MAX_FIELDS));
+            }
+            fieldStarts[fieldCount] = recordLength;
+        }
+
+        private void endField() {
+            if (!oversized) {
+                fieldEnds[fieldCount++] = recordLength;
+            }
+        }
+
+        private void append(byte b) {
+            fieldBytes++;
+            if (oversized) {
+                return;
+            }
+            if (recordLength == MAX_RECORD_BYTES) {
+                oversized = true;
+                return;
+            }
+            if (recordLength == record.length) {
+                record = Arrays.copyOf(record, Math.min(recordLength * 2, MAX_RECORD_BYTES));
+            }
+            record[recordLength++] = b;
+        }
+
+        private boolean fill() throws IOException {
+            bufferStart += limit;
+            pos = 0;
+            limit = 0;
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            if (read < 0) {
+                return false;
+            }
+            limit = read;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Headless import for large datasets: java FoodCsvImporter foods.csv [batchSize]
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java FoodCsvImporter <file.csv> [batchSize]");
+            System.exit(2);
+        }
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+        FoodCsvImporter importer = new FoodCsvImporter(Paths.get(args[0]), batchSize, DEFAULT_PENDING_BATCHES);
+        long started = System.nanoTime();
+
+        try (Connection connection = DatabaseConnection.getConnection()) {
+            if (connection == null) {
+                throw new SQLException("Could not connect to the database");
+            }
+            Result result = importer.run(connection, (bytesRead, totalBytes, imported, rejected) ->
+                    System.out.printf("\r%5.1f%%  %,d imported  %,d rejected",
+                            totalBytes == 0 ? 100.0 : 100.0 * bytesRead / totalBytes, imported, rejected));
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("%nDone in %.1fs (%,.0f rows/s)%s%n", seconds, result.getRowsImported() / seconds,
+                    result.isResumed() ? ", resumed from a checkpoint" : "");
+            for (String error : result.getErrors()) {
+                System.out.println("  rejected " + error);
+            }
+        }
+    }
+}
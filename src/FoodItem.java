@@ -0,0 +1,66 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// A row of the food_choices table
+public class FoodItem {
+    // Column list that read(ResultSet) expects, in order
+    public static final String COLUMNS = "id, food_name, calories, category, description, protein, carbs, fats";
+
+    private final int id;
+    private final String name;
+    private final int calories;
+    private final String category;
+    private final String description;
+    private final double protein;
+    private final double carbs;
+    private final double fats;
+
+    public FoodItem(int id, String name, int calories, String category, String description, double protein, double carbs, double fats) {
+        this.id = id;
+        this.name = name;
+        this.calories = calories;
+        this.category = category;
+        this.description = description != null ? description : "";
+        this.protein = protein;
+        this.carbs = carbs;
+        this.fats = fats;
+    }
+
+    // Reads the current row of a result set selected with COLUMNS
+    public static FoodItem read(ResultSet resultSet) throws SQLException {
+        return new FoodItem(
+                resultSet.getInt(1),
+                resultSet.getString(2),
+                resultSet.getInt(3),
+                resultSet.getString(4),
+                resultSet.getString(5),
+                resultSet.getDouble(6),
+                resultSet.getDouble(7),
+                resultSet.getDouble(8)
+        );
+    }
+
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public int getCalories() { return calories; }
+    public String getCategory() { return category; }
+    public String getDescription() { return description; }
+    public double getProtein() { return protein; }
+    public double getCarbs() { return carbs; }
+    public double getFats() { return fats; }
+
+    public FoodItem withCategory(String category) {
+        return new FoodItem(id, name, calories, category, description, protein, carbs, fats);
+    }
+
+    public boolean matches(String searchText, String category, int maxCalories) {
+        boolean matchesSearch = searchText.isEmpty() ||
+                name.toLowerCase().contains(searchText) ||
+                description.toLowerCase().contains(searchText);
+        boolean matchesCategory = category.equals("All Categories") ||
+                this.category.equals(category);
+        boolean matchesCalories = calories <= maxCalories;
+
+        return matchesSearch && matchesCategory && matchesCalories;
+    }
+}
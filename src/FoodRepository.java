@@ -0,0 +1,66 @@
+import java.sql.SQLException;
+import java.util.List;
+
+// Access to the food_choices table
+public interface FoodRepository {
+    // Up to limit rows with id > afterId, in id order (keyset pagination)
+    List<FoodItem> findPage(int afterId, int limit) throws SQLException;
+
+    // Number of rows, counting no further than limit, so checking a size bound never scans the whole table
+    int countUpTo(int limit) throws SQLException;
+
+    // Up to limit rows matching the filters, in id order. text is lowercased, "" for none;
+    // category may be "All Categories".
+    List<FoodItem> search(String text, String category, int maxCalories, int limit) throws SQLException;
+
+    // Saves a new row and returns it with its generated id
+    FoodItem insert(String name, int calories, String category, String description,
+                    double protein, double carbs, double fats) throws SQLException;
+
+    void update(FoodItem item) throws SQLException;
+
+    void delete(int id) throws SQLException;
+
+    // Bulk writes, applied in one transaction
+    void updateAll(List<FoodItem> items) throws SQLException;
+
+    void deleteAll(int[] ids) throws SQLException;
+
+    // Change version of the table; every insert, update and delete moves it forward
+    long currentVersion() throws SQLException;
+
+    // What changed after the given version, up to the current one
+    Changes changesSince(long version) throws SQLException;
+
+    final class Changes {
+        private final long version;
+        private final List<FoodItem> changed;
+        private final int[] removed;
+        private final boolean complete;
+
+        public Changes(long version, List<FoodItem> changed, int[] removed, boolean complete) {
+            this.version = version;
+            this.changed = changed;
+            this.removed = removed;
+            this.complete = complete;
+        }
+
+        // The version these changes bring a reader up to
+        public long getVersion() {
+            return version;
+        }
+
+        public List<FoodItem> getChanged() {
+            return changed;
+        }
+
+        public int[] getRemoved() {
+            return removed;
+        }
+
+        // False when deletions that old have been forgotten, so only a full reload is reliable
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+import java.time.LocalDate;
+
+// A row of the goals table. id is 0 until the goal has been saved.
+// Every setter except setId marks the goal dirty; GoalStore saves only dirty goals and clears the flag.
+public class Goal {
+    private int id;
+    private String title;
+    private String description;
+    private LocalDate targetDate;
+    private Priority priority;
+    private boolean completed;
+    private boolean dirty;
+
+    public Goal(int id, String title, String description, LocalDate targetDate, Priority priority, boolean completed) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.targetDate = targetDate;
+        this.priority = priority;
+        this.completed = completed;
+    }
+
+    // A new goal, dirty until it has been inserted
+    public Goal(String title, String description, LocalDate targetDate, Priority priority) {
+        this(0, title, description, targetDate, priority, false);
+        dirty = true;
+    }
+
+    public Goal copy() {
+        Goal copy = new Goal(id, title, description, targetDate, priority, completed);
+        copy.dirty = dirty;
+        return copy;
+    }
+
+    public boolean isNew() {
+        return id == 0;
+    }
+
+    // Changed since it was loaded or last saved
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public void markClean() {
+        dirty = false;
+    }
+
+    // Getters and setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; dirty = true; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; dirty = true; }
+    public LocalDate getTargetDate() { return targetDate; }
+    public void setTargetDate(LocalDate targetDate) { this.targetDate = targetDate; dirty = true; }
+    public Priority getPriority() { return priority; }
+    public void setPriority(Priority priority) { this.priority = priority; dirty = true; }
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; dirty = true; }
+}
@@ -0,0 +1,112 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Open (not completed) goals indexed for the GoalsPage views, so "overdue", "due this week" and
+// "top N" cost O(log n) plus the goals returned instead of a scan over every goal.
+// - byDue maps a due date to the goals due that day, for date range queries.
+// - queue orders goals by priority, then due date. It is the priority queue behind top(n); a
+//   TreeSet rather than a binary heap because edits and deletes take arbitrary goals out, which
+//   a heap can only do in O(n), and the first n can be read in order without popping.
+// Keys are copied when a goal is indexed; call put again after changing a goal.
+public class GoalIndex {
+    private static final Comparator<Entry> URGENCY = Comparator
+            .comparing((Entry entry) -> entry.priority)
+            .thenComparing(entry -> entry.due)
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final Map<Goal, Entry> entries = new IdentityHashMap<>();
+    private final NavigableMap<LocalDate, Set<Goal>> byDue = new TreeMap<>();
+    private final NavigableSet<Entry> queue = new TreeSet<>(URGENCY);
+    // Breaks ties between goals with the same priority and due date
+    private long nextSequence;
+
+    // Adds the goal, or re-indexes it after an edit. Completed goals are dropped.
+    public void put(Goal goal) {
+        remove(goal);
+        if (goal.isCompleted()) {
+            return;
+        }
+        Entry entry = new Entry(goal, goal.getTargetDate(), goal.getPriority(), nextSequence++);
+        entries.put(goal, entry);
+        byDue.computeIfAbsent(entry.due, due -> new LinkedHashSet<>()).add(goal);
+        queue.add(entry);
+    }
+
+    public void remove(Goal goal) {
+        Entry entry = entries.remove(goal);
+        if (entry == null) {
+            return;
+        }
+        Set<Goal> sameDay = byDue.get(entry.due);
+        sameDay.remove(goal);
+        if (sameDay.isEmpty()) {
+            byDue.remove(entry.due);
+        }
+        queue.remove(entry);
+    }
+
+    public void clear() {
+        entries.clear();
+        byDue.clear();
+        queue.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Open goals due before today, earliest first
+    public List<Goal> overdue(LocalDate today) {
+        return flatten(byDue.headMap(today, false).values());
+    }
+
+    // Open goals due between from and to inclusive, earliest first
+    public List<Goal> dueBetween(LocalDate from, LocalDate to) {
+        return flatten(byDue.subMap(from, true, to, true).values());
+    }
+
+    // The n most urgent open goals: highest priority first, then earliest due
+    public List<Goal> top(int n) {
+        List<Goal> top = new ArrayList<>(Math.min(n, queue.size()));
+        Iterator<Entry> it = queue.iterator();
+        while (top.size() < n && it.hasNext()) {
+            top.add(it.next().goal);
+        }
+        return top;
+    }
+
+    private static List<Goal> flatten(Collection<Set<Goal>> days) {
+        List<Goal> goals = new ArrayList<>();
+        for (Set<Goal> day : days) {
+            goals.addAll(day);
+        }
+        return goals;
+    }
+
+    // The keys a goal was indexed under, kept so it can be found again after it changes
+    private static final class Entry {
+        final Goal goal;
+        final LocalDate due;
+        final Priority priority;
+        final long sequence;
+
+        Entry(Goal goal, LocalDate due, Priority priority, long sequence) {
+            this.goal = goal;
+            this.due = due;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
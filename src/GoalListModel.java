@@ -0,0 +1,157 @@
+import javax.swing.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+// The goals GoalsPage shows, as a ListModel that reports each change as the smallest event it can:
+// an edit is one contentsChanged for its row, an add or delete one interval event. Views listen
+// and touch only the affected rows instead of rebuilding the list.
+// In the "All" view GoalStore's events map straight onto rows. The filtered views are re-read
+// from the goal index after each change and reconciled against the rows shown, keyed by goal.
+// EDT only.
+public class GoalListModel extends AbstractListModel<Goal> implements GoalStore.GoalListener {
+    private static final int TOP_GOALS = 5;
+
+    public enum View {
+        ALL("All Goals"),
+        OVERDUE("Overdue"),
+        DUE_THIS_WEEK("Due This Week"),
+        TOP_PRIORITIES("Top Priorities");
+
+        private final String label;
+
+        View(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final GoalStore store;
+    private final List<Goal> rows = new ArrayList<>();
+    private View view = View.ALL;
+
+    public GoalListModel(GoalStore store) {
+        this.store = store;
+        store.addGoalListener(this);
+        rows.addAll(store.getGoals());
+    }
+
+    // Stops following the store, when the page showing the list is disposed
+    public void close() {
+        store.removeGoalListener(this);
+    }
+
+    public void setView(View view) {
+        this.view = view;
+        reconcile(viewGoals());
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Goal getElementAt(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public void goalsReplaced() {
+        int size = rows.size();
+        if (size > 0) {
+            rows.clear();
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+        rows.addAll(viewGoals());
+        if (!rows.isEmpty()) {
+            fireIntervalAdded(this, 0, rows.size() - 1);
+        }
+    }
+
+    @Override
+    public void goalAdded(Goal goal, int index) {
+        if (view == View.ALL) {
+            rows.add(index, goal);
+            fireIntervalAdded(this, index, index);
+        } else {
+            reconcile(viewGoals());
+        }
+    }
+
+    @Override
+    public void goalChanged(Goal goal, int index) {
+        if (view != View.ALL) {
+            // The edit may move the goal into, out of or within the view
+            reconcile(viewGoals());
+            index = rows.indexOf(goal);
+        }
+        if (index >= 0) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    @Override
+    public void goalRemoved(Goal goal, int index) {
+        if (view == View.ALL) {
+            rows.remove(index);
+            fireIntervalRemoved(this, index, index);
+        } else {
+            reconcile(viewGoals());
+        }
+    }
+
+    private List<Goal> viewGoals() {
+        LocalDate today = LocalDate.now();
+        switch (view) {
+            case OVERDUE:
+                return store.overdue(today);
+            case DUE_THIS_WEEK:
+                return store.dueBetween(today, today.plusDays(6));
+            case TOP_PRIORITIES:
+                return store.top(TOP_GOALS);
+            default:
+                return store.getGoals();
+        }
+    }
+
+    // Turns the rows into target with one event per row that has to go, arrive or move.
+    // Rows already in place are left alone, so their views aren't touched.
+    private void reconcile(List<Goal> target) {
+        Set<Goal> wanted = Collections.newSetFromMap(new IdentityHashMap<>());
+        wanted.addAll(target);
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (!wanted.contains(rows.get(i))) {
+                rows.remove(i);
+                fireIntervalRemoved(this, i, i);
+            }
+        }
+
+        for (int i = 0; i < target.size(); i++) {
+            Goal goal = target.get(i);
+            if (i < rows.size() && rows.get(i) == goal) {
+                continue;
+            }
+            for (int j = i + 1; j < rows.size(); j++) {
+                if (rows.get(j) == goal) {
+                    rows.remove(j);
+                    fireIntervalRemoved(this, j, j);
+                    break;
+                }
+            }
+            rows.add(i, goal);
+            fireIntervalAdded(this, i, i);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+import javax.swing.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Deadline reminders for a GoalStore's open goals: one LEAD_DAYS before the target date and one
+// the morning after it has passed. Each goal's reminders sit in the shared TimingWheel and are
+// cancelled or rescheduled in O(1) as the store reports edits, so nothing ever polls the goals.
+// Reminders whose time has already passed when a goal is loaded or edited are not fired; the
+// "Overdue" and "Due This Week" views cover those.
+// The reminders belong to the user's GoalSession, so they fire whichever page is open. They fire on
+// the wheel thread and reach the EDT only while a page is attached as the display; ones that fire
+// while none is (the user is on another page, or has minimised it) are held and delivered together
+// when one attaches.
+public class GoalReminders implements GoalStore.GoalListener {
+    private static final int LEAD_DAYS = Integer.getInteger("fitness.reminders.leadDays", 3);
+    private static final int REMINDER_HOUR = Integer.getInteger("fitness.reminders.hour", 9);
+
+    public enum Kind { UPCOMING, OVERDUE }
+
+    // A fired reminder. The title is copied when it's scheduled, since goals belong to the EDT.
+    public static final class Notice {
+        private final Goal goal;
+        private final String title;
+        private final LocalDate targetDate;
+        private final Kind kind;
+        private final TimingWheel.Timeout[] scheduledWith;
+
+        private Notice(Goal goal, Kind kind, TimingWheel.Timeout[] scheduledWith) {
+            this.goal = goal;
+            this.title = goal.getTitle();
+            this.targetDate = goal.getTargetDate();
+            this.kind = kind;
+            this.scheduledWith = scheduledWith;
+        }
+
+        public Goal getGoal() {
+            return goal;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public LocalDate getTargetDate() {
+            return targetDate;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+    }
+
+    private final GoalStore store;
+    private final TimingWheel wheel;
+    // EDT only: the timeouts currently scheduled for each goal
+    private final Map<Goal, TimingWheel.Timeout[]> scheduled = new IdentityHashMap<>();
+    private final Queue<Notice> fired = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean deliveryQueued = new AtomicBoolean();
+    private volatile Consumer<List<Notice>> display;
+
+    public GoalReminders(GoalStore store, TimingWheel wheel) {
+        this.store = store;
+        this.wheel = wheel;
+        store.addGoalListener(this);
+    }
+
+    // Called by a page as it is shown or restored. The display runs on the EDT with every reminder
+    // fired since the last delivery, including those held while nothing was attached.
+    public void attach(Consumer<List<Notice>> display) {
+        this.display = display;
+        if (!fired.isEmpty()) {
+            queueDelivery();
+        }
+    }
+
+    // Called by a page as it is minimised or disposed; does nothing if another page has attached since
+    public void detach(Consumer<List<Notice>> display) {
+        if (this.display == display) {
+            this.display = null;
+        }
+    }
+
+    // One line about a delivery, e.g. for a page header
+    public static String describe(List<Notice> notices) {
+        int overdue = countOverdue(notices);
+        if (notices.size() == 1) {
+            Notice notice = notices.get(0);
+            return overdue == 1
+                    ? "\"" + notice.getTitle() + "\" is overdue"
+                    : "\"" + notice.getTitle() + "\" is due on " + notice.getTargetDate();
+        }
+        return overdue + " goal(s) overdue, " + (notices.size() - overdue) + " due soon";
+    }
+
+    public static int countOverdue(List<Notice> notices) {
+        int overdue = 0;
+        for (Notice notice : notices) {
+            if (notice.getKind() == Kind.OVERDUE) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+
+    // Cancels every reminder, when the session ends
+    public void close() {
+        store.removeGoalListener(this);
+        cancelAll();
+        fired.clear();
+    }
+
+    @Override
+    public void goalsReplaced() {
+        cancelAll();
+        for (Goal goal : store.getGoals()) {
+            schedule(goal);
+        }
+    }
+
+    @Override
+    public void goalAdded(Goal goal, int index) {
+        schedule(goal);
+    }
+
+    @Override
+    public void goalChanged(Goal goal, int index) {
+        cancel(goal);
+        schedule(goal);
+    }
+
+    @Override
+    public void goalRemoved(Goal goal, int index) {
+        cancel(goal);
+    }
+
+    private void schedule(Goal goal) {
+        if (goal.isCompleted()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long upcoming = startOfReminderDay(goal.getTargetDate().minusDays(LEAD_DAYS));
+        long overdue = startOfReminderDay(goal.getTargetDate().plusDays(1));
+
+        TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[2];
+        if (upcoming > now) {
+            Notice notice = new Notice(goal, Kind.UPCOMING, timeouts);
+            timeouts[0] = wheel.schedule(upcoming, () -> fire(notice));
+        }
+        if (overdue > now) {
+            Notice notice = new Notice(goal, Kind.OVERDUE, timeouts);
+            timeouts[1] = wheel.schedule(overdue, () -> fire(notice));
+        }
+        if (timeouts[0] != null || timeouts[1] != null) {
+            scheduled.put(goal, timeouts);
+        }
+    }
+
+    private void cancel(Goal goal) {
+        TimingWheel.Timeout[] timeouts = scheduled.remove(goal);
+        if (timeouts != null) {
+            for (TimingWheel.Timeout timeout : timeouts) {
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+            }
+        }
+    }
+
+    private void cancelAll() {
+        for (TimingWheel.Timeout[] timeouts : scheduled.values()) {
+            for (TimingWheel.Timeout timeout : timeouts) {
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+            }
+        }
+        scheduled.clear();
+    }
+
+    private static long startOfReminderDay(LocalDate date) {
+        return date.atTime(REMINDER_HOUR, 0).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Wheel thread
+    private void fire(Notice notice) {
+        fired.add(notice);
+        if (display != null) {
+            queueDelivery();
+        }
+    }
+
+    // At most one delivery waits on the EDT at a time, however many reminders fire at once
+    private void queueDelivery() {
+        if (deliveryQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        deliveryQueued.set(false);
+        Consumer<List<Notice>> target = display;
+        if (target == null) {
+            return;
+        }
+        List<Notice> notices = new ArrayList<>();
+        Notice notice;
+        while ((notice = fired.poll()) != null) {
+            // Skip reminders for goals edited or deleted after this one fired
+            if (scheduled.get(notice.goal) == notice.scheduledWith) {
+                notices.add(notice);
+            }
+        }
+        if (!notices.isEmpty()) {
+            target.accept(notices);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+import java.sql.SQLException;
+import java.util.List;
+
+// Access to the goals table. Goals belong to a user.
+public interface GoalRepository {
+    // The user's goals in id order
+    List<Goal> findByUser(int userId) throws SQLException;
+
+    // Saves a new goal and sets its generated id
+    void insert(int userId, Goal goal) throws SQLException;
+
+    void update(Goal goal) throws SQLException;
+
+    void delete(int goalId) throws SQLException;
+
+    // Writes a set of edits in one transaction: inserts the new goals (setting their ids),
+    // updates the changed ones and deletes the given ids. Nothing is written if any of it fails.
+    void saveAll(int userId, List<Goal> inserted, List<Goal> updated, int[] deletedIds) throws SQLException;
+}
@@ -0,0 +1,75 @@
+import java.util.concurrent.CompletableFuture;
+
+// The signed-in user's goals and their reminders, from login until the next login. They live here
+// rather than in GoalsPage so reminders keep firing, and edits keep saving, while the user is on
+// other pages; pages only attach to the store and the reminders to show them.
+// Everything here must be called on the EDT.
+public final class GoalSession {
+    private static GoalSession current;
+
+    private final GoalStore store;
+    private final GoalReminders reminders;
+    // Completes once the goals are in the store; replaced if the load failed
+    private CompletableFuture<Void> loaded;
+
+    private GoalSession(GoalRepository repository, int userId) {
+        store = new GoalStore(repository, userId);
+        reminders = new GoalReminders(store, TimingWheel.shared());
+    }
+
+    // Called at login. Ends the previous user's session and starts loading this user's goals, so
+    // their reminders are scheduled before the Goals page is ever opened.
+    public static GoalSession start(User user) {
+        if (current != null) {
+            current.close();
+        }
+        current = new GoalSession(Repositories.goals(), user.getId());
+        // A failed load is retried, and reported, when the Goals page asks for the goals
+        current.load();
+        return current;
+    }
+
+    // The running session. Without a signed-in user (e.g. a page opened on its own) goals are kept
+    // in memory for as long as the app runs.
+    public static GoalSession current() {
+        if (current == null) {
+            current = new GoalSession(new InMemoryGoalRepository(), 0);
+            current.load();
+        }
+        return current;
+    }
+
+    public GoalStore getStore() {
+        return store;
+    }
+
+    public GoalReminders getReminders() {
+        return reminders;
+    }
+
+    // Completes on the EDT once the goals have been loaded into the store, starting the load again
+    // if the last one failed. Each caller gets its own future, so cancelling it leaves the load running.
+    public CompletableFuture<Void> load() {
+        if (loaded == null || loaded.isCompletedExceptionally()) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            loaded = done;
+            DataAccess.onEdt(store.load(), goals -> {
+                store.setGoals(goals);
+                done.complete(null);
+            }, done::completeExceptionally);
+        }
+        return loaded.copy();
+    }
+
+    // Drops the unsaved edits and reads the goals back from the database
+    public CompletableFuture<Void> discardChanges() {
+        store.discardChanges();
+        loaded = null;
+        return load();
+    }
+
+    private void close() {
+        reminders.close();
+        store.save();
+    }
+}
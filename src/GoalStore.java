@@ -0,0 +1,285 @@
+import javax.swing.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// One user's goals as edited on the EDT, saved back through a GoalRepository.
+// Goals track their own dirty state, so a save writes only the goals added or changed since the
+// last save plus the ones deleted, as one batched transaction.
+// Edits schedule an autosave; edits that arrive within AUTOSAVE_DELAY_MS of each other are written
+// together. Only one save runs at a time, on the data-access executor, so the EDT never waits for
+// the database; edits made while it runs are picked up by the next one.
+// Everything here must be called on the EDT.
+public class GoalStore {
+    private static final int AUTOSAVE_DELAY_MS = Integer.getInteger("fitness.goals.autosaveDelayMs", 1000);
+
+    public enum Status { SAVED, PENDING, SAVING, FAILED }
+
+    @FunctionalInterface
+    public interface StatusListener {
+        // error is set only for FAILED
+        void statusChanged(Status status, Throwable error);
+    }
+
+    // Told about every change to the list; index is the goal's position in getGoals()
+    public interface GoalListener {
+        void goalsReplaced();
+
+        void goalAdded(Goal goal, int index);
+
+        void goalChanged(Goal goal, int index);
+
+        void goalRemoved(Goal goal, int index);
+    }
+
+    private final GoalRepository repository;
+    private final int userId;
+    private final List<Goal> goals = new ArrayList<>();
+    private final GoalIndex index = new GoalIndex();
+    // Deleted goals that may exist in the database; removed once their delete has been committed
+    private final List<Goal> removed = new ArrayList<>();
+    // New goals whose insert is in flight. Deleting one of these has to wait for its id.
+    private final Set<Goal> inserting = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Timer autosaveTimer;
+    private final List<GoalListener> goalListeners = new ArrayList<>();
+    private StatusListener listener = (status, error) -> { };
+    private CompletableFuture<Void> running;
+    // Completes after the save that follows the running one; set when a save is asked for meanwhile
+    private CompletableFuture<Void> queued;
+
+    public GoalStore(GoalRepository repository, int userId) {
+        this.repository = repository;
+        this.userId = userId;
+        autosaveTimer = new Timer(AUTOSAVE_DELAY_MS, e -> save());
+        autosaveTimer.setRepeats(false);
+    }
+
+    public void setStatusListener(StatusListener listener) {
+        this.listener = listener;
+    }
+
+    public void addGoalListener(GoalListener goalListener) {
+        goalListeners.add(goalListener);
+    }
+
+    public void removeGoalListener(GoalListener goalListener) {
+        goalListeners.remove(goalListener);
+    }
+
+    // Reads the user's goals on a worker thread; hand the result to setGoals on the EDT
+    public CompletableFuture<List<Goal>> load() {
+        return DataAccess.supply(() -> repository.findByUser(userId));
+    }
+
+    public void setGoals(List<Goal> loaded) {
+        goals.clear();
+        goals.addAll(loaded);
+        index.clear();
+        for (Goal goal : loaded) {
+            index.put(goal);
+        }
+        for (GoalListener goalListener : goalListeners) {
+            goalListener.goalsReplaced();
+        }
+    }
+
+    // All goals, in the order they were created
+    public List<Goal> getGoals() {
+        return Collections.unmodifiableList(goals);
+    }
+
+    // Open goals due before today, earliest first
+    public List<Goal> overdue(LocalDate today) {
+        return index.overdue(today);
+    }
+
+    // Open goals due between from and to inclusive, earliest first
+    public List<Goal> dueBetween(LocalDate from, LocalDate to) {
+        return index.dueBetween(from, to);
+    }
+
+    // The n most urgent open goals by priority, then due date
+    public List<Goal> top(int n) {
+        return index.top(n);
+    }
+
+    public void add(Goal goal) {
+        goals.add(goal);
+        index.put(goal);
+        for (GoalListener goalListener : goalListeners) {
+            goalListener.goalAdded(goal, goals.size() - 1);
+        }
+        scheduleSave();
+    }
+
+    // Call after changing a goal through its setters
+    public void changed(Goal goal) {
+        int position = goals.indexOf(goal);
+        if (position < 0) {
+            return;
+        }
+        index.put(goal);
+        for (GoalListener goalListener : goalListeners) {
+            goalListener.goalChanged(goal, position);
+        }
+        if (goal.isDirty()) {
+            scheduleSave();
+        }
+    }
+
+    public void remove(Goal goal) {
+        int position = goals.indexOf(goal);
+        if (position < 0) {
+            return;
+        }
+        goals.remove(position);
+        index.remove(goal);
+        for (GoalListener goalListener : goalListeners) {
+            goalListener.goalRemoved(goal, position);
+        }
+        // A goal that was never inserted has nothing to delete
+        if (!goal.isNew() || inserting.contains(goal)) {
+            removed.add(goal);
+        }
+        scheduleSave();
+    }
+
+    public boolean hasUnsavedChanges() {
+        if (running != null || !removed.isEmpty()) {
+            return true;
+        }
+        for (Goal goal : goals) {
+            if (goal.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Forgets every unsaved edit, after a failed save the user chose not to retry. Nothing pending is
+    // written; the goals should then be reloaded, as edited ones still hold their unsaved values.
+    public void discardChanges() {
+        autosaveTimer.stop();
+        removed.clear();
+        for (Goal goal : goals) {
+            goal.markClean();
+        }
+        if (running == null) {
+            listener.statusChanged(Status.SAVED, null);
+        }
+    }
+
+    // Saves now instead of waiting for the autosave. The future completes, on the EDT, once every
+    // edit made before the call has been written, or fails with the error of the save that didn't.
+    public CompletableFuture<Void> save() {
+        autosaveTimer.stop();
+        if (running == null) {
+            return startSave();
+        }
+        if (queued == null) {
+            queued = new CompletableFuture<>();
+        }
+        return queued;
+    }
+
+    private void scheduleSave() {
+        autosaveTimer.restart();
+        if (running == null) {
+            listener.statusChanged(Status.PENDING, null);
+        }
+    }
+
+    private CompletableFuture<Void> startSave() {
+        List<Goal> insertedGoals = new ArrayList<>();
+        List<Goal> inserts = new ArrayList<>();
+        List<Goal> updatedGoals = new ArrayList<>();
+        List<Goal> updates = new ArrayList<>();
+        for (Goal goal : goals) {
+            if (!goal.isDirty()) {
+                continue;
+            }
+            // The worker gets copies, so edits made while it runs can't tear the rows it writes
+            if (goal.isNew()) {
+                insertedGoals.add(goal);
+                inserts.add(goal.copy());
+                inserting.add(goal);
+            } else {
+                updatedGoals.add(goal);
+                updates.add(goal.copy());
+            }
+            goal.markClean();
+        }
+
+        // Any goal still new here was deleted before its failed insert could be retried
+        removed.removeIf(Goal::isNew);
+        List<Goal> deletedGoals = new ArrayList<>(removed);
+        int[] deletedIds = new int[deletedGoals.size()];
+        for (int i = 0; i < deletedIds.length; i++) {
+            deletedIds[i] = deletedGoals.get(i).getId();
+        }
+
+        if (inserts.isEmpty() && updates.isEmpty() && deletedIds.length == 0) {
+            listener.statusChanged(Status.SAVED, null);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        listener.statusChanged(Status.SAVING, null);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        running = done;
+        DataAccess.supply(() -> {
+            repository.saveAll(userId, inserts, updates, deletedIds);
+            return null;
+        }).whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                for (int i = 0; i < insertedGoals.size(); i++) {
+                    insertedGoals.get(i).setId(inserts.get(i).getId());
+                }
+                removed.removeAll(deletedGoals);
+            } else {
+                // Nothing was committed; everything in this batch is unsaved again
+                for (Goal goal : insertedGoals) {
+                    goal.markDirty();
+                }
+                for (Goal goal : updatedGoals) {
+                    goal.markDirty();
+                }
+            }
+            inserting.clear();
+            finishSave(done, error == null ? null : DataAccess.unwrap(error));
+        }));
+        return done;
+    }
+
+    private void finishSave(CompletableFuture<Void> done, Throwable error) {
+        running = null;
+        if (error != null) {
+            listener.statusChanged(Status.FAILED, error);
+            done.completeExceptionally(error);
+        } else {
+            done.complete(null);
+        }
+
+        CompletableFuture<Void> next = queued;
+        queued = null;
+        if (next != null) {
+            startSave().whenComplete((value, nextError) -> {
+                if (nextError == null) {
+                    next.complete(null);
+                } else {
+                    next.completeExceptionally(nextError);
+                }
+            });
+        } else if (error == null) {
+            // Edits made during the save (including deletes that waited for an id) go out next
+            if (hasUnsavedChanges()) {
+                scheduleSave();
+            } else {
+                listener.statusChanged(Status.SAVED, null);
+            }
+        }
+    }
+}
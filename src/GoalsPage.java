@@ -1,10 +1,14 @@
 import javax.swing.*;
 import javax.swing.border.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
 import java.awt.*;
 import java.awt.event.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class GoalsPage extends JFrame {
     private final Color PRIMARY_COLOR = new Color(70, 130, 180);
@@ -15,17 +19,31 @@ public class GoalsPage extends JFrame {
 
     private JTextArea shortTermGoalsArea;
     private JTextArea longTermGoalsArea;
-    private List<GoalItem> goalsList;
+    private final GoalStore goalStore;
+    private final GoalReminders reminders;
+    private final Consumer<List<GoalReminders.Notice>> reminderDisplay = this::showReminders;
+    private final DataAccess.TaskGroup tasks = new DataAccess.TaskGroup();
     private JPanel goalsListPanel;
+    private JButton addGoalButton;
+    private JLabel saveStatusLabel;
+    private final GoalListModel goalListModel;
+    private JComboBox<GoalListModel.View> goalViewCombo;
+    private JLabel reminderLabel;
 
     public GoalsPage() {
         setTitle("Health & Fitness Tracker - Goals");
         setSize(800, 600);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // Closing the window waits for unsaved goals to be written first
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setLocationRelativeTo(null);
         setMinimumSize(new Dimension(600, 500));
 
-        goalsList = new ArrayList<>();
+        // The goals and their reminders belong to the session; this page only shows them while it's open
+        GoalSession session = GoalSession.current();
+        goalStore = session.getStore();
+        goalStore.setStatusListener(this::showSaveStatus);
+        reminders = session.getReminders();
+        goalListModel = new GoalListModel(goalStore);
 
         // Main Panel
         JPanel mainPanel = new JPanel(new BorderLayout());
@@ -37,7 +55,131 @@ public class GoalsPage extends JFrame {
         mainPanel.add(createFooterPanel(), BorderLayout.SOUTH);
 
         add(mainPanel);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                exitAfterSaving();
+            }
+
+            @Override
+            public void windowOpened(WindowEvent e) {
+                reminders.attach(reminderDisplay);
+            }
+
+            @Override
+            public void windowIconified(WindowEvent e) {
+                reminders.detach(reminderDisplay);
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                reminders.attach(reminderDisplay);
+            }
+        });
+
         setVisible(true);
+        loadGoals();
+    }
+
+    // Usually already done at login; otherwise waits for the session's load, or retries a failed one
+    private void loadGoals() {
+        CompletableFuture<Void> load = tasks.track(GoalSession.current().load());
+        DataAccess.whileBusy(load, this, addGoalButton);
+        DataAccess.onEdt(load,
+                loaded -> { },
+                error -> JOptionPane.showMessageDialog(this,
+                        "Could not load your goals: " + error.getMessage(),
+                        "Database Error",
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    private void showSaveStatus(GoalStore.Status status, Throwable error) {
+        switch (status) {
+            case SAVED:
+                saveStatusLabel.setText("All changes saved");
+                break;
+            case PENDING:
+                saveStatusLabel.setText("Unsaved changes");
+                break;
+            case SAVING:
+                saveStatusLabel.setText("Saving...");
+                break;
+            case FAILED:
+                saveStatusLabel.setText("Not saved: " + error.getMessage());
+                break;
+        }
+    }
+
+    private void showReminders(List<GoalReminders.Notice> notices) {
+        reminderLabel.setText("⏰ " + GoalReminders.describe(notices) + " (click to view)");
+        reminderLabel.setVisible(true);
+
+        GoalListModel.View view = GoalReminders.countOverdue(notices) > 0 ? GoalListModel.View.OVERDUE : GoalListModel.View.DUE_THIS_WEEK;
+        for (MouseListener listener : reminderLabel.getMouseListeners()) {
+            reminderLabel.removeMouseListener(listener);
+        }
+        reminderLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                reminderLabel.setVisible(false);
+                goalViewCombo.setSelectedItem(view);
+            }
+        });
+        Toolkit.getDefaultToolkit().beep();
+    }
+
+    private void exitAfterSaving() {
+        DataAccess.onEdt(DataAccess.whileBusy(goalStore.save(), this),
+                saved -> System.exit(0),
+                error -> {
+                    int choice = JOptionPane.showConfirmDialog(this,
+                            "Your latest goal changes could not be saved: " + error.getMessage() + "\nExit anyway?",
+                            "Unsaved Goals",
+                            JOptionPane.YES_NO_OPTION,
+                            JOptionPane.WARNING_MESSAGE);
+                    if (choice == JOptionPane.YES_OPTION) {
+                        System.exit(0);
+                    }
+                });
+    }
+
+    // Goes back to the main page once pending edits are saved. If the save fails the user can try
+    // again, discard the edits or stay on the page; nothing is dropped without them knowing.
+    private void backAfterSaving(JButton backButton) {
+        DataAccess.onEdt(DataAccess.whileBusy(goalStore.save(), this, backButton),
+                saved -> {
+                    new MainPage();
+                    dispose();
+                },
+                error -> {
+                    Object[] options = {"Retry", "Discard Changes", "Stay"};
+                    int choice = JOptionPane.showOptionDialog(this,
+                            "Your latest goal changes could not be saved: " + error.getMessage(),
+                            "Unsaved Goals",
+                            JOptionPane.YES_NO_CANCEL_OPTION,
+                            JOptionPane.WARNING_MESSAGE,
+                            null,
+                            options,
+                            options[0]);
+                    if (choice == 0) {
+                        backAfterSaving(backButton);
+                    } else if (choice == 1) {
+                        GoalSession.current().discardChanges();
+                        new MainPage();
+                        dispose();
+                    }
+                });
+    }
+
+    // The goals and reminders stay with the session; reminders keep firing for the next page
+    @Override
+    public void dispose() {
+        tasks.cancelAll();
+        reminders.detach(reminderDisplay);
+        goalListModel.close();
+        goalStore.setStatusListener((status, error) -> { });
+        super.dispose();
     }
 
     private JPanel createHeaderPanel() {
@@ -60,6 +202,16 @@ public class GoalsPage extends JFrame {
         headerPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         headerPanel.add(titleLabel);
 
+        // Goal reminders appear here; clicking one shows the goals it is about
+        reminderLabel = new JLabel();
+        reminderLabel.setFont(MAIN_FONT);
+        reminderLabel.setForeground(Color.WHITE);
+        reminderLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        reminderLabel.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        reminderLabel.setVisible(false);
+        headerPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        headerPanel.add(reminderLabel);
+
         return headerPanel;
     }
 
@@ -93,16 +245,22 @@ public class GoalsPage extends JFrame {
                 MAIN_FONT,
                 PRIMARY_COLOR
         ));
+        GoalRows goalRows = new GoalRows();
+        goalListModel.addListDataListener(goalRows);
+        // Goals the session has already loaded
+        if (goalListModel.getSize() > 0) {
+            goalRows.intervalAdded(new ListDataEvent(goalListModel, ListDataEvent.INTERVAL_ADDED, 0, goalListModel.getSize() - 1));
+        }
 
         // Add goal button
-        JButton addGoalButton = createStyledButton("Add New Goal");
+        addGoalButton = createStyledButton("Add New Goal");
         addGoalButton.addActionListener(e -> showAddGoalDialog());
 
         // Combine all sections
         JPanel centerPanel = new JPanel(new BorderLayout(0, 20));
         centerPanel.setBackground(SECONDARY_COLOR);
         centerPanel.add(goalsInputPanel, BorderLayout.NORTH);
-        centerPanel.add(new JScrollPane(goalsListPanel), BorderLayout.CENTER);
+        centerPanel.add(createGoalsListSection(), BorderLayout.CENTER);
         centerPanel.add(addGoalButton, BorderLayout.SOUTH);
 
         contentPanel.add(centerPanel, BorderLayout.CENTER);
@@ -110,6 +268,25 @@ public class GoalsPage extends JFrame {
         return contentPanel;
     }
 
+    private JPanel createGoalsListSection() {
+        goalViewCombo = new JComboBox<>(GoalListModel.View.values());
+        goalViewCombo.setFont(MAIN_FONT);
+        goalViewCombo.addActionListener(e -> goalListModel.setView((GoalListModel.View) goalViewCombo.getSelectedItem()));
+
+        JPanel viewPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        viewPanel.setBackground(SECONDARY_COLOR);
+        JLabel showLabel = new JLabel("Show:");
+        showLabel.setFont(MAIN_FONT);
+        viewPanel.add(showLabel);
+        viewPanel.add(goalViewCombo);
+
+        JPanel section = new JPanel(new BorderLayout(0, 10));
+        section.setBackground(SECONDARY_COLOR);
+        section.add(viewPanel, BorderLayout.NORTH);
+        section.add(new JScrollPane(goalsListPanel), BorderLayout.CENTER);
+        return section;
+    }
+
     private JTextArea createGoalPanel(String title, String placeholder) {
         JPanel panel = new JPanel(new BorderLayout(0, 10));
         panel.setBackground(SECONDARY_COLOR);
@@ -165,13 +342,15 @@ public class GoalsPage extends JFrame {
         JButton backButton = createStyledButton("Back to Main");
         backButton.setBackground(SECONDARY_COLOR);
         backButton.setForeground(PRIMARY_COLOR);
-        backButton.addActionListener(e -> {
-            new MainPage();
-            dispose();
-        });
+        backButton.addActionListener(e -> backAfterSaving(backButton));
+
+        saveStatusLabel = new JLabel(" ");
+        saveStatusLabel.setFont(MAIN_FONT);
+        saveStatusLabel.setForeground(PRIMARY_COLOR);
 
         footerPanel.add(saveButton);
         footerPanel.add(backButton);
+        footerPanel.add(saveStatusLabel);
 
         return footerPanel;
     }
@@ -229,8 +408,7 @@ public class GoalsPage extends JFrame {
         styleTextField(targetDateField, "Target Date (YYYY-MM-DD)");
 
         // Priority dropdown
-        String[] priorities = {"High", "Medium", "Low"};
-        JComboBox<String> priorityCombo = new JComboBox<>(priorities);
+        JComboBox<Priority> priorityCombo = new JComboBox<>(Priority.values());
         priorityCombo.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
 
         // Add buttons
@@ -243,9 +421,10 @@ public class GoalsPage extends JFrame {
         cancelButton.setForeground(PRIMARY_COLOR);
 
         addButton.addActionListener(e -> {
-            if (validateGoalInput(titleField.getText(), descriptionArea.getText(), targetDateField.getText())) {
+            LocalDate targetDate = validateGoalInput(titleField.getText(), descriptionArea.getText(), targetDateField.getText());
+            if (targetDate != null) {
                 addGoal(titleField.getText(), descriptionArea.getText(),
-                        targetDateField.getText(), (String)priorityCombo.getSelectedItem());
+                        targetDate, (Priority)priorityCombo.getSelectedItem());
                 dialog.dispose();
             }
         });
@@ -335,101 +514,142 @@ public class GoalsPage extends JFrame {
         });
     }
 
-    private boolean validateGoalInput(String title, String description, String targetDate) {
+    // Returns the parsed target date, or null after telling the user what's wrong
+    private LocalDate validateGoalInput(String title, String description, String targetDate) {
         if (title.isEmpty() || description.isEmpty() || targetDate.isEmpty()) {
             JOptionPane.showMessageDialog(this,
                     "Please fill in all fields.",
                     "Validation Error",
                     JOptionPane.ERROR_MESSAGE);
-            return false;
+            return null;
         }
 
         try {
-            LocalDate.parse(targetDate);
+            return LocalDate.parse(targetDate);
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
                     "Please enter a valid date in YYYY-MM-DD format.",
                     "Validation Error",
                     JOptionPane.ERROR_MESSAGE);
-            return false;
+            return null;
         }
-
-        return true;
     }
 
-    private void addGoal(String title, String description, String targetDate, String priority) {
-        GoalItem goal = new GoalItem(title, description, targetDate, priority);
-        goalsList.add(goal);
-        updateGoalsList();
+    private void addGoal(String title, String description, LocalDate targetDate, Priority priority) {
+        Goal goal = new Goal(title, description, targetDate, priority);
+        goalStore.add(goal);
     }
 
-    private void updateGoalsList() {
-        goalsListPanel.removeAll();
-        for (GoalItem goal : goalsList) {
-            goalsListPanel.add(createGoalItemPanel(goal));
-            goalsListPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+    // Keeps goalsListPanel in step with goalListModel one row at a time, so a change re-lays out
+    // only what moved instead of rebuilding every panel. Each goal takes two components: its
+    // panel and the gap below it.
+    private class GoalRows implements ListDataListener {
+        private final List<GoalRow> rows = new ArrayList<>();
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            for (int i = e.getIndex0(); i <= e.getIndex1(); i++) {
+                GoalRow row = new GoalRow(goalListModel.getElementAt(i));
+                rows.add(i, row);
+                goalsListPanel.add(row.panel, 2 * i);
+                goalsListPanel.add(Box.createRigidArea(new Dimension(0, 10)), 2 * i + 1);
+            }
+            goalsListPanel.revalidate();
+            goalsListPanel.repaint();
         }
-        goalsListPanel.revalidate();
-        goalsListPanel.repaint();
-    }
-
-    private JPanel createGoalItemPanel(GoalItem goal) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(Color.WHITE);
-        panel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(PRIMARY_COLOR),
-                BorderFactory.createEmptyBorder(10, 10, 10, 10)
-        ));
 
-        // Goal information
-        JPanel infoPanel = new JPanel(new GridLayout(3, 1, 5, 5));
-        infoPanel.setBackground(Color.WHITE);
-        infoPanel.add(new JLabel("Title: " + goal.getTitle()));
-        infoPanel.add(new JLabel("Due: " + goal.getTargetDate()));
-        infoPanel.add(new JLabel("Priority: " + goal.getPriority()));
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            for (int i = e.getIndex1(); i >= e.getIndex0(); i--) {
+                rows.remove(i);
+                goalsListPanel.remove(2 * i + 1);
+                goalsListPanel.remove(2 * i);
+            }
+            goalsListPanel.revalidate();
+            goalsListPanel.repaint();
+        }
 
-        // Buttons
-        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        buttonPanel.setBackground(Color.WHITE);
-
-        // Edit button
-        JButton editButton = new JButton("✏️");
-        styleIconButton(editButton);
-        editButton.addActionListener(e -> editGoal(goal));
-
-        // Delete button
-        JButton deleteButton = new JButton("🗑️");
-        styleIconButton(deleteButton);
-        deleteButton.addActionListener(e -> {
-            int confirm = JOptionPane.showConfirmDialog(
-                    this,
-                    "Are you sure you want to delete this goal?",
-                    "Confirm Deletion",
-                    JOptionPane.YES_NO_OPTION
-            );
-            if (confirm == JOptionPane.YES_OPTION) {
-                goalsList.remove(goal);
-                updateGoalsList();
+        // Updates the row's labels in place; they repaint themselves
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            for (int i = e.getIndex0(); i <= e.getIndex1(); i++) {
+                rows.get(i).show(goalListModel.getElementAt(i));
             }
-        });
+        }
+    }
 
-        // Complete button
-        JCheckBox completeBox = new JCheckBox("Complete");
-        completeBox.setBackground(Color.WHITE);
-        completeBox.setFont(MAIN_FONT);
-        completeBox.addActionListener(e -> {
-            goal.setCompleted(completeBox.isSelected());
-            updateGoalsList();
-        });
+    // The panel for one goal
+    private class GoalRow {
+        private final JPanel panel = new JPanel(new BorderLayout());
+        private final JLabel titleLabel = new JLabel();
+        private final JLabel dueLabel = new JLabel();
+        private final JLabel priorityLabel = new JLabel();
+        private final JCheckBox completeBox = new JCheckBox("Complete");
+        private Goal goal;
+
+        GoalRow(Goal goal) {
+            panel.setBackground(Color.WHITE);
+            panel.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(PRIMARY_COLOR),
+                    BorderFactory.createEmptyBorder(10, 10, 10, 10)
+            ));
+
+            // Goal information
+            JPanel infoPanel = new JPanel(new GridLayout(3, 1, 5, 5));
+            infoPanel.setBackground(Color.WHITE);
+            infoPanel.add(titleLabel);
+            infoPanel.add(dueLabel);
+            infoPanel.add(priorityLabel);
+
+            // Buttons
+            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+            buttonPanel.setBackground(Color.WHITE);
+
+            // Edit button
+            JButton editButton = new JButton("✏️");
+            styleIconButton(editButton);
+            editButton.addActionListener(e -> editGoal(this.goal));
+
+            // Delete button
+            JButton deleteButton = new JButton("🗑️");
+            styleIconButton(deleteButton);
+            deleteButton.addActionListener(e -> {
+                int confirm = JOptionPane.showConfirmDialog(
+                        GoalsPage.this,
+                        "Are you sure you want to delete this goal?",
+                        "Confirm Deletion",
+                        JOptionPane.YES_NO_OPTION
+                );
+                if (confirm == JOptionPane.YES_OPTION) {
+                    goalStore.remove(this.goal);
+                }
+            });
+
+            // Complete button
+            completeBox.setBackground(Color.WHITE);
+            completeBox.setFont(MAIN_FONT);
+            completeBox.addActionListener(e -> {
+                this.goal.setCompleted(completeBox.isSelected());
+                goalStore.changed(this.goal);
+            });
 
-        buttonPanel.add(completeBox);
-        buttonPanel.add(editButton);
-        buttonPanel.add(deleteButton);
+            buttonPanel.add(completeBox);
+            buttonPanel.add(editButton);
+            buttonPanel.add(deleteButton);
 
-        panel.add(infoPanel, BorderLayout.CENTER);
-        panel.add(buttonPanel, BorderLayout.EAST);
+            panel.add(infoPanel, BorderLayout.CENTER);
+            panel.add(buttonPanel, BorderLayout.EAST);
+
+            show(goal);
+        }
 
-        return panel;
+        void show(Goal goal) {
+            this.goal = goal;
+            titleLabel.setText("Title: " + goal.getTitle());
+            dueLabel.setText("Due: " + goal.getTargetDate());
+            priorityLabel.setText("Priority: " + goal.getPriority());
+            completeBox.setSelected(goal.isCompleted());
+        }
     }
 
     private void styleIconButton(JButton button) {
@@ -451,7 +671,7 @@ public class GoalsPage extends JFrame {
         });
     }
 
-    private void editGoal(GoalItem goal) {
+    private void editGoal(Goal goal) {
         JDialog dialog = new JDialog(this, "Edit Goal", true);
         dialog.setSize(400, 300);
         dialog.setLocationRelativeTo(this);
@@ -472,12 +692,11 @@ public class GoalsPage extends JFrame {
         styleTextArea(descriptionArea, "Goal Description");
 
         // Target date
-        JTextField targetDateField = new JTextField(goal.getTargetDate(), 20);
+        JTextField targetDateField = new JTextField(goal.getTargetDate().toString(), 20);
         styleTextField(targetDateField, "Target Date (YYYY-MM-DD)");
 
         // Priority dropdown
-        String[] priorities = {"High", "Medium", "Low"};
-        JComboBox<String> priorityCombo = new JComboBox<>(priorities);
+        JComboBox<Priority> priorityCombo = new JComboBox<>(Priority.values());
         priorityCombo.setSelectedItem(goal.getPriority());
         priorityCombo.setMaximumSize(new Dimension(Integer.MAX_VALUE, 30));
 
@@ -491,12 +710,13 @@ public class GoalsPage extends JFrame {
         cancelButton.setForeground(PRIMARY_COLOR);
 
         saveButton.addActionListener(e -> {
-            if (validateGoalInput(titleField.getText(), descriptionArea.getText(), targetDateField.getText())) {
+            LocalDate targetDate = validateGoalInput(titleField.getText(), descriptionArea.getText(), targetDateField.getText());
+            if (targetDate != null) {
                 goal.setTitle(titleField.getText());
                 goal.setDescription(descriptionArea.getText());
-                goal.setTargetDate(targetDateField.getText());
-                goal.setPriority((String)priorityCombo.getSelectedItem());
-                updateGoalsList();
+                goal.setTargetDate(targetDate);
+                goal.setPriority((Priority)priorityCombo.getSelectedItem());
+                goalStore.changed(goal);
                 dialog.dispose();
             }
         });
@@ -532,45 +752,20 @@ public class GoalsPage extends JFrame {
         dialog.setVisible(true);
     }
 
+    // Edits are autosaved; this writes any pending ones right away
     private void saveGoals() {
-        // Here you would implement the database saving logic
-        // For now, we'll just show a success message
-        JOptionPane.showMessageDialog(
-                this,
-                "Goals saved successfully!",
-                "Success",
-                JOptionPane.INFORMATION_MESSAGE
-        );
-    }
-
-    // Inner class to represent a goal item
-    private class GoalItem {
-        private String title;
-        private String description;
-        private String targetDate;
-        private String priority;
-        private boolean completed;
-
-        public GoalItem(String title, String description, String targetDate, String priority) {
-            this.title = title;
-            this.description = description;
-            this.targetDate = targetDate;
-            this.priority = priority;
-            this.completed = false;
-        }
-
-        // Getters and setters
-        public String getTitle() { return title; }
-        public void setTitle(String title) { this.title = title; }
-        public String getDescription() { return description; }
-        public void setDescription(String description) { this.description = description; }
-        public String getTargetDate() { return targetDate; }
-        public void setTargetDate(String targetDate) { this.targetDate = targetDate; }
-        public String getPriority() { return priority; }
-        public void setPriority(String priority) { this.priority = priority; }
-        public boolean isCompleted() { return completed; }
-        public void setCompleted(boolean completed) { this.completed = completed; }
+        DataAccess.onEdt(goalStore.save(),
+                saved -> JOptionPane.showMessageDialog(
+                        this,
+                        "Goals saved successfully!",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE
+                ),
+                error -> JOptionPane.showMessageDialog(
+                        this,
+                        "Could not save your goals: " + error.getMessage(),
+                        "Database Error",
+                        JOptionPane.ERROR_MESSAGE
+                ));
     }
 }
-
-
@@ -1,28 +1,276 @@
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 public class GraphsPage extends JFrame {
+    private final Color PRIMARY_COLOR = new Color(70, 130, 180);
+    private final Color SECONDARY_COLOR = new Color(240, 248, 255);
+    private final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    private final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 24);
+
+    private static final Color COMPLETED_COLOR = new Color(39, 174, 96);
+    private static final Color PROTEIN_COLOR = new Color(192, 57, 43);
+    private static final Color CARBS_COLOR = new Color(243, 156, 18);
+    private static final Color FATS_COLOR = new Color(142, 68, 173);
+
+    // Time windows offered above the charts, in days; 0 shows all history
+    private static final String[] RANGE_LABELS = {"Last 30 Days", "Last 90 Days", "Last Year", "All Time"};
+    private static final int[] RANGE_DAYS = {30, 90, 365, 0};
+
+    private final DataAccess.TaskGroup tasks = new DataAccess.TaskGroup();
+    private final TimeSeriesChart caloriesChart = new TimeSeriesChart("Calorie Intake", "kcal");
+    private final TimeSeriesChart macrosChart = new TimeSeriesChart("Macronutrients", "g");
+    private final TimeSeriesChart goalsChart = new TimeSeriesChart("Goal Progress (by target date)", "goals");
+    private final JLabel[] statsLabels = new JLabel[IntakeStats.Nutrient.values().length];
+    private IntakeStats stats;
+    private final IntakeStats.Listener statsListener = changed -> updateStats();
+    // Bumped on every range change, so an older range's intake that arrives late is dropped
+    private int intakeRequest;
+
     public GraphsPage() {
-        setTitle("Graphs Page");
-        setSize(400, 300);
+        setTitle("Health & Fitness Tracker - Graphs");
+        setSize(900, 650);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
+        setMinimumSize(new Dimension(600, 450));
+
+        // Daily intake is spiky, so keep every peak; the other charts are smooth enough for LTTB
+        caloriesChart.setMode(Downsampler.Mode.MIN_MAX);
+        caloriesChart.setEmptyMessage("No meals logged yet");
+        macrosChart.setEmptyMessage("No meals logged yet");
+        goalsChart.setEmptyMessage("No goals yet");
+
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBackground(SECONDARY_COLOR);
+        mainPanel.add(createHeaderPanel(), BorderLayout.NORTH);
+        mainPanel.add(createChartsPanel(), BorderLayout.CENTER);
+        mainPanel.add(createFooterPanel(), BorderLayout.SOUTH);
+
+        add(mainPanel);
+        setVisible(true);
+        loadGoalProgress();
+    }
+
+    private JPanel createHeaderPanel() {
+        JPanel headerPanel = new JPanel();
+        headerPanel.setLayout(new BoxLayout(headerPanel, BoxLayout.Y_AXIS));
+        headerPanel.setBackground(PRIMARY_COLOR);
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 0, 15, 0));
+
+        JLabel titleLabel = new JLabel("📈 Progress Graphs");
+        titleLabel.setFont(HEADER_FONT);
+        titleLabel.setForeground(Color.WHITE);
+        titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        headerPanel.add(titleLabel);
+
+        return headerPanel;
+    }
+
+    private JPanel createChartsPanel() {
+        JComboBox<String> rangeCombo = new JComboBox<>(RANGE_LABELS);
+        rangeCombo.setFont(MAIN_FONT);
+        rangeCombo.addActionListener(e -> showRange(RANGE_DAYS[rangeCombo.getSelectedIndex()]));
+        showRange(RANGE_DAYS[0]);
+
+        JPanel rangePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        rangePanel.setBackground(SECONDARY_COLOR);
+        JLabel showLabel = new JLabel("Show:");
+        showLabel.setFont(MAIN_FONT);
+        rangePanel.add(showLabel);
+        rangePanel.add(rangeCombo);
+
+        JPanel northPanel = new JPanel(new BorderLayout(0, 10));
+        northPanel.setBackground(SECONDARY_COLOR);
+        northPanel.add(rangePanel, BorderLayout.NORTH);
+        northPanel.add(createStatsPanel(), BorderLayout.CENTER);
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.setFont(MAIN_FONT);
+        tabs.addTab("Calories", caloriesChart);
+        tabs.addTab("Macros", macrosChart);
+        tabs.addTab("Goals", goalsChart);
+
+        JPanel chartsPanel = new JPanel(new BorderLayout(0, 10));
+        chartsPanel.setBackground(SECONDARY_COLOR);
+        chartsPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 10, 20));
+        chartsPanel.add(northPanel, BorderLayout.NORTH);
+        chartsPanel.add(tabs, BorderLayout.CENTER);
+        return chartsPanel;
+    }
 
-        JPanel panel = new JPanel();
-        panel.setLayout(new BorderLayout());
+    // One card per nutrient with the running statistics, updated as meals are logged
+    private JPanel createStatsPanel() {
+        JPanel statsPanel = new JPanel(new GridLayout(1, statsLabels.length, 10, 0));
+        statsPanel.setBackground(SECONDARY_COLOR);
+        for (int i = 0; i < statsLabels.length; i++) {
+            statsLabels[i] = new JLabel(" ");
+            statsLabels[i].setFont(MAIN_FONT);
+            statsLabels[i].setOpaque(true);
+            statsLabels[i].setBackground(Color.WHITE);
+            statsLabels[i].setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createLineBorder(PRIMARY_COLOR),
+                    BorderFactory.createEmptyBorder(5, 8, 5, 8)));
+            statsPanel.add(statsLabels[i]);
+        }
 
-        JLabel graphLabel = new JLabel("Graphs will be displayed here...");
+        User user = UserSession.getCurrentUser();
+        if (user == null) {
+            statsPanel.setVisible(false);
+        } else {
+            stats = IntakeStats.forUser(user.getId());
+            stats.addListener(statsListener);
+            updateStats();
+        }
+        return statsPanel;
+    }
+
+    private void updateStats() {
+        if (!stats.isSeeded()) {
+            return;
+        }
+        IntakeStats.Nutrient[] nutrients = IntakeStats.Nutrient.values();
+        for (int i = 0; i < nutrients.length; i++) {
+            IntakeStats.Summary summary = stats.summary(nutrients[i]);
+            String unit = nutrients[i].getUnit();
+            StringBuilder text = new StringBuilder("<html><b>").append(nutrients[i].getLabel()).append("</b><br>")
+                    .append(String.format("Today: %,.0f %s", summary.getToday(), unit));
+            if (summary.getDays() > 0) {
+                text.append(String.format("<br>Trend: %,.0f %s/day<br>Median: %,.0f, 90th pct: %,.0f",
+                        summary.getAverage(), unit, summary.getMedian(), summary.getP90()));
+            }
+            if (summary.getLastWeekDays() > 0) {
+                text.append(String.format("<br>Last 7 days: %,.0f %s/day",
+                        summary.getLastWeek() / summary.getLastWeekDays(), unit));
+            }
+            statsLabels[i].setText(text.append("</html>").toString());
+        }
+    }
+
+    private JPanel createFooterPanel() {
+        JPanel footerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        footerPanel.setBackground(SECONDARY_COLOR);
 
-        panel.add(graphLabel, BorderLayout.CENTER);
         JButton backButton = new JButton("Back to Main");
+        backButton.setFont(MAIN_FONT);
         backButton.addActionListener(e -> {
             new MainPage();
             dispose();
         });
+        footerPanel.add(backButton);
+
+        return footerPanel;
+    }
 
-        panel.add(backButton, BorderLayout.SOUTH);
+    private void showRange(int days) {
+        Long windowStart = days == 0 ? null
+                : LocalDate.now().minusDays(days).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        caloriesChart.setWindowStart(windowStart);
+        macrosChart.setWindowStart(windowStart);
+        goalsChart.setWindowStart(windowStart);
+        loadIntake(days);
+    }
 
-        add(panel);
-        setVisible(true);
+    // Intake comes from the meal_rollup totals: one row per day for the fixed ranges (at most 366),
+    // one per week for all history, never the individual log entries
+    private void loadIntake(int days) {
+        User user = UserSession.getCurrentUser();
+        if (user == null) {
+            return;
+        }
+        int request = ++intakeRequest;
+        LocalDate today = LocalDate.now();
+        RollupPeriod period = days == 0 ? RollupPeriod.WEEK : RollupPeriod.DAY;
+        LocalDate from = days == 0 ? null : today.minusDays(days);
+        DataAccess.onEdt(tasks.track(DataAccess.supply(() -> Repositories.meals().rollups(user.getId(), period, from, today))),
+                totals -> {
+                    if (request == intakeRequest) {
+                        showIntake(totals, period, today);
+                    }
+                },
+                error -> {
+                    caloriesChart.setEmptyMessage("Could not load meals: " + error.getMessage());
+                    macrosChart.setEmptyMessage("Could not load meals: " + error.getMessage());
+                });
+    }
+
+    // Plotted as a daily average over each period's days so far, so weekly points read like daily ones
+    private void showIntake(List<NutritionTotals> totals, RollupPeriod period, LocalDate today) {
+        TimeSeries calories = new TimeSeries("Calories", PRIMARY_COLOR);
+        TimeSeries protein = new TimeSeries("Protein", PROTEIN_COLOR);
+        TimeSeries carbs = new TimeSeries("Carbs", CARBS_COLOR);
+        TimeSeries fats = new TimeSeries("Fats", FATS_COLOR);
+        ZoneId zone = ZoneId.systemDefault();
+        for (NutritionTotals total : totals) {
+            LocalDate start = total.getPeriodStart();
+            LocalDate end = period.next(start);
+            if (end.isAfter(today)) {
+                end = today.plusDays(1);
+            }
+            double days = Math.max(1, end.toEpochDay() - start.toEpochDay());
+            long time = start.atStartOfDay(zone).toInstant().toEpochMilli();
+            calories.add(time, total.getCalories() / days);
+            protein.add(time, total.getProtein() / days);
+            carbs.add(time, total.getCarbs() / days);
+            fats.add(time, total.getFats() / days);
+        }
+
+        caloriesChart.clearSeries();
+        caloriesChart.addSeries(calories);
+        macrosChart.clearSeries();
+        macrosChart.addSeries(protein);
+        macrosChart.addSeries(carbs);
+        macrosChart.addSeries(fats);
+    }
+
+    // Cumulative goals and completed goals over their target dates
+    private void loadGoalProgress() {
+        User user = UserSession.getCurrentUser();
+        if (user == null) {
+            return;
+        }
+        DataAccess.onEdt(tasks.track(DataAccess.supply(() -> Repositories.goals().findByUser(user.getId()))),
+                this::showGoalProgress,
+                error -> goalsChart.setEmptyMessage("Could not load goals: " + error.getMessage()));
+    }
+
+    private void showGoalProgress(List<Goal> goals) {
+        List<Goal> byDate = new ArrayList<>(goals);
+        byDate.sort(Comparator.comparing(Goal::getTargetDate));
+
+        TimeSeries total = new TimeSeries("All goals", PRIMARY_COLOR);
+        TimeSeries completed = new TimeSeries("Completed", COMPLETED_COLOR);
+        ZoneId zone = ZoneId.systemDefault();
+        int totalCount = 0;
+        int completedCount = 0;
+        for (int i = 0; i < byDate.size(); i++) {
+            Goal goal = byDate.get(i);
+            totalCount++;
+            if (goal.isCompleted()) {
+                completedCount++;
+            }
+            // One point per target date, after all of that day's goals
+            if (i == byDate.size() - 1 || !byDate.get(i + 1).getTargetDate().equals(goal.getTargetDate())) {
+                long time = goal.getTargetDate().atStartOfDay(zone).toInstant().toEpochMilli();
+                total.add(time, totalCount);
+                completed.add(time, completedCount);
+            }
+        }
+
+        goalsChart.clearSeries();
+        goalsChart.addSeries(total);
+        goalsChart.addSeries(completed);
+    }
+
+    @Override
+    public void dispose() {
+        tasks.cancelAll();
+        if (stats != null) {
+            stats.removeListener(statsListener);
+        }
+        super.dispose();
     }
-}
\ No newline at end of file
+}
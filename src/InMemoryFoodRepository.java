@@ -0,0 +1,165 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// FoodRepository kept in memory, for benchmarks and load tests of the catalog logic without MySQL.
+// Mirrors the JDBC behaviour: ids are generated in ascending order, and every change is stamped with
+// a version so changesSince() works the same way as with the triggers in fitness_tracker.sql.
+public class InMemoryFoodRepository implements FoodRepository {
+    private final NavigableMap<Integer, FoodItem> rows = new TreeMap<>();
+    // Latest change of each id, by version; deleted ids stay here as tombstones
+    private final NavigableMap<Long, Integer> changeLog = new TreeMap<>();
+    private final Map<Integer, Long> versionOf = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nextId = 1;
+    private long version;
+
+    @Override
+    public List<FoodItem> findPage(int afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<FoodItem> page = new ArrayList<>(Math.min(limit, rows.size()));
+            for (FoodItem item : rows.tailMap(afterId, false).values()) {
+                if (page.size() == limit) {
+                    break;
+                }
+                page.add(item);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countUpTo(int limit) {
+        lock.readLock().lock();
+        try {
+            return Math.min(rows.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<FoodItem> search(String text, String category, int maxCalories, int limit) {
+        String trimmed = text.trim();
+        lock.readLock().lock();
+        try {
+            List<FoodItem> results = new ArrayList<>();
+            for (FoodItem item : rows.values()) {
+                if (results.size() == limit) {
+                    break;
+                }
+                if (item.matches(trimmed, category, maxCalories)) {
+                    results.add(item);
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public FoodItem insert(String name, int calories, String category, String description,
+                           double protein, double carbs, double fats) {
+        lock.writeLock().lock();
+        try {
+            FoodItem item = new FoodItem(nextId++, name, calories, category, description, protein, carbs, fats);
+            rows.put(item.getId(), item);
+            stamp(item.getId());
+            return item;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(FoodItem item) {
+        updateAll(List.of(item));
+    }
+
+    @Override
+    public void delete(int id) {
+        deleteAll(new int[]{id});
+    }
+
+    @Override
+    public void updateAll(List<FoodItem> items) {
+        lock.writeLock().lock();
+        try {
+            for (FoodItem item : items) {
+                // UPDATE ... WHERE id = ? touches nothing when the row is gone
+                if (rows.replace(item.getId(), item) != null) {
+                    stamp(item.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(int[] ids) {
+        lock.writeLock().lock();
+        try {
+            for (int id : ids) {
+                if (rows.remove(id) != null) {
+                    stamp(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long currentVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Changes changesSince(long since) {
+        lock.readLock().lock();
+        try {
+            List<FoodItem> changed = new ArrayList<>();
+            int[] removed = new int[0];
+            int removedCount = 0;
+            for (int id : changeLog.tailMap(since, false).values()) {
+                FoodItem item = rows.get(id);
+                if (item != null) {
+                    changed.add(item);
+                } else {
+                    if (removedCount == removed.length) {
+                        removed = Arrays.copyOf(removed, Math.max(16, removedCount * 2));
+                    }
+                    removed[removedCount++] = id;
+                }
+            }
+            return new Changes(version, changed, Arrays.copyOf(removed, removedCount), true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Moves the id's entry in the change log to a fresh version
+    private void stamp(int id) {
+        Long previous = versionOf.put(id, ++version);
+        if (previous != null) {
+            changeLog.remove(previous);
+        }
+        changeLog.put(version, id);
+    }
+}
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// GoalRepository kept in memory. Goals are copied in and out, as they would be through a database,
+// and come out clean like freshly read rows; only the caller's own edits make a goal dirty.
+public class InMemoryGoalRepository implements GoalRepository {
+    private final Map<Integer, TreeMap<Integer, Goal>> goalsByUser = new TreeMap<>();
+    private final Map<Integer, Integer> ownerOf = new TreeMap<>();
+    private int nextId = 1;
+
+    @Override
+    public synchronized List<Goal> findByUser(int userId) {
+        List<Goal> goals = new ArrayList<>();
+        TreeMap<Integer, Goal> owned = goalsByUser.get(userId);
+        if (owned != null) {
+            for (Goal goal : owned.values()) {
+                goals.add(cleanCopy(goal));
+            }
+        }
+        return goals;
+    }
+
+    @Override
+    public synchronized void insert(int userId, Goal goal) {
+        goal.setId(nextId++);
+        goalsByUser.computeIfAbsent(userId, id -> new TreeMap<>()).put(goal.getId(), cleanCopy(goal));
+        ownerOf.put(goal.getId(), userId);
+    }
+
+    @Override
+    public synchronized void update(Goal goal) {
+        Integer userId = ownerOf.get(goal.getId());
+        if (userId != null) {
+            goalsByUser.get(userId).put(goal.getId(), cleanCopy(goal));
+        }
+    }
+
+    @Override
+    public synchronized void delete(int goalId) {
+        Integer userId = ownerOf.remove(goalId);
+        if (userId != null) {
+            goalsByUser.get(userId).remove(goalId);
+        }
+    }
+
+    private static Goal cleanCopy(Goal goal) {
+        Goal copy = goal.copy();
+        copy.markClean();
+        return copy;
+    }
+
+    // Atomic because the whole method holds the lock
+    @Override
+    public synchronized void saveAll(int userId, List<Goal> inserted, List<Goal> updated, int[] deletedIds) {
+        for (Goal goal : inserted) {
+            insert(userId, goal);
+        }
+        for (Goal goal : updated) {
+            update(goal);
+        }
+        for (int id : deletedIds) {
+            delete(id);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// MealLogRepository kept in memory, with the rollups maintained the same way as in the database
+public class InMemoryMealLogRepository implements MealLogRepository {
+    private final Map<Integer, MealEntry> entries = new TreeMap<>();
+    private final Map<Integer, Integer> ownerOf = new HashMap<>();
+    private final Map<Integer, Map<RollupPeriod, TreeMap<LocalDate, NutritionTotals>>> rollupsByUser = new HashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public synchronized List<MealEntry> findByDay(int userId, LocalDate day) {
+        List<MealEntry> found = new ArrayList<>();
+        for (MealEntry entry : entries.values()) {
+            if (ownerOf.get(entry.getId()) == userId && entry.getEatenOn().equals(day)) {
+                found.add(entry.copy());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public synchronized void log(int userId, MealEntry entry) {
+        entry.setId(nextId++);
+        entries.put(entry.getId(), entry.copy());
+        ownerOf.put(entry.getId(), userId);
+        apply(userId, entry, 1);
+    }
+
+    // Atomic because the whole method holds the lock
+    @Override
+    public synchronized void logAll(int userId, List<MealEntry> entries) {
+        for (MealEntry entry : entries) {
+            log(userId, entry);
+        }
+    }
+
+    @Override
+    public synchronized void update(MealEntry entry) {
+        MealEntry old = entries.get(entry.getId());
+        if (old != null) {
+            int userId = ownerOf.get(entry.getId());
+            apply(userId, old, -1);
+            entries.put(entry.getId(), entry.copy());
+            apply(userId, entry, 1);
+        }
+    }
+
+    @Override
+    public synchronized void delete(int entryId) {
+        MealEntry old = entries.remove(entryId);
+        if (old != null) {
+            apply(ownerOf.remove(entryId), old, -1);
+        }
+    }
+
+    @Override
+    public synchronized List<NutritionTotals> rollups(int userId, RollupPeriod period, LocalDate from, LocalDate to) {
+        Map<RollupPeriod, TreeMap<LocalDate, NutritionTotals>> byPeriod = rollupsByUser.get(userId);
+        if (byPeriod == null || from != null && from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        TreeMap<LocalDate, NutritionTotals> totals = byPeriod.get(period);
+        return new ArrayList<>(from == null
+                ? totals.headMap(to, true).values()
+                : totals.subMap(from, true, to, true).values());
+    }
+
+    private void apply(int userId, MealEntry entry, int sign) {
+        Map<RollupPeriod, TreeMap<LocalDate, NutritionTotals>> byPeriod = rollupsByUser.computeIfAbsent(userId, id -> {
+            Map<RollupPeriod, TreeMap<LocalDate, NutritionTotals>> periods = new EnumMap<>(RollupPeriod.class);
+            for (RollupPeriod period : RollupPeriod.values()) {
+                periods.put(period, new TreeMap<>());
+            }
+            return periods;
+        });
+        for (RollupPeriod period : RollupPeriod.values()) {
+            LocalDate start = period.start(entry.getEatenOn());
+            TreeMap<LocalDate, NutritionTotals> totals = byPeriod.get(period);
+            NutritionTotals updated = totals.getOrDefault(start, new NutritionTotals(start, 0, 0, 0, 0, 0)).plus(entry, sign);
+            if (updated.getEntries() > 0) {
+                totals.put(start, updated);
+            } else {
+                totals.remove(start);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.HashMap;
+import java.util.Map;
+
+// UserRepository kept in memory, for running and load-testing the app without MySQL
+public class InMemoryUserRepository implements UserRepository {
+    private final Map<String, Account> byUsername = new HashMap<>();
+    private final Map<String, Account> byEmail = new HashMap<>();
+    private int nextId = 1;
+
+    private static final class Account {
+        private final User user;
+        private final String password;
+
+        Account(User user, String password) {
+            this.user = user;
+            this.password = password;
+        }
+    }
+
+    @Override
+    public synchronized User authenticate(String username, String password) {
+        Account account = byUsername.get(username);
+        return account != null && account.password.equals(password) ? account.user : null;
+    }
+
+    @Override
+    public synchronized User register(String username, String password, String email, String fullName, int age)
+            throws SQLIntegrityConstraintViolationException {
+        // Same outcome as the UNIQUE keys on the users table
+        if (byUsername.containsKey(username) || byEmail.containsKey(email)) {
+            throw new SQLIntegrityConstraintViolationException("Duplicate username or email");
+        }
+        Account account = new Account(new User(nextId++, username, email, fullName, age), password);
+        byUsername.put(username, account);
+        byEmail.put(email, account);
+        return account.user;
+    }
+
+    @Override
+    public synchronized User findByUsername(String username) {
+        Account account = byUsername.get(username);
+        return account != null ? account.user : null;
+    }
+}
@@ -0,0 +1,282 @@
+import javax.swing.*;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Running statistics of a user's daily intake, kept up to date as meals are logged instead of being
+// recomputed from the log each time a page opens. For each nutrient it keeps today's total, an
+// exponentially weighted average of daily totals, the last seven days' sum and P-square estimates of
+// the median and 90th percentile day, all in fixed memory.
+// A day's total joins the average and the percentiles once the day is over, and only days with
+// something logged count. The first use per user seeds the statistics from the last year of daily
+// rollups (at most 366 rows); after that they are fed by record().
+// Entries logged for a past day update the seven-day sum only; the average and percentiles
+// pick them up the next time the statistics are seeded.
+public class IntakeStats {
+    private static final int AVERAGE_SPAN_DAYS = Integer.getInteger("fitness.stats.averageSpanDays", 7);
+    private static final int WINDOW_DAYS = 7;
+    private static final int SEED_DAYS = 365;
+
+    private static final Map<Integer, IntakeStats> BY_USER = new ConcurrentHashMap<>();
+
+    public enum Nutrient {
+        CALORIES("Calories", "kcal"),
+        PROTEIN("Protein", "g"),
+        CARBS("Carbs", "g"),
+        FATS("Fats", "g");
+
+        private final String label;
+        private final String unit;
+
+        Nutrient(String label, String unit) {
+            this.label = label;
+            this.unit = unit;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        double of(MealEntry entry) {
+            switch (this) {
+                case PROTEIN:
+                    return entry.getProtein();
+                case CARBS:
+                    return entry.getCarbs();
+                case FATS:
+                    return entry.getFats();
+                default:
+                    return entry.getCalories();
+            }
+        }
+
+        double of(NutritionTotals totals) {
+            switch (this) {
+                case PROTEIN:
+                    return totals.getProtein();
+                case CARBS:
+                    return totals.getCarbs();
+                case FATS:
+                    return totals.getFats();
+                default:
+                    return totals.getCalories();
+            }
+        }
+    }
+
+    // A nutrient's statistics at one moment. The average and percentiles are NaN until a full day
+    // has been logged.
+    public static final class Summary {
+        private final double today;
+        private final double average;
+        private final double lastWeek;
+        private final int lastWeekDays;
+        private final double median;
+        private final double p90;
+        private final long days;
+
+        private Summary(double today, double average, double lastWeek, int lastWeekDays, double median, double p90, long days) {
+            this.today = today;
+            this.average = average;
+            this.lastWeek = lastWeek;
+            this.lastWeekDays = lastWeekDays;
+            this.median = median;
+            this.p90 = p90;
+            this.days = days;
+        }
+
+        public double getToday() { return today; }
+        // Weighted towards recent days
+        public double getAverage() { return average; }
+        // Total over the last seven days, today included
+        public double getLastWeek() { return lastWeek; }
+        // How many of the last seven days had anything logged
+        public int getLastWeekDays() { return lastWeekDays; }
+        public double getMedian() { return median; }
+        public double getP90() { return p90; }
+        // Completed days behind the average and percentiles
+        public long getDays() { return days; }
+    }
+
+    public interface Listener {
+        // Called on the EDT after the statistics change
+        void statsChanged(IntakeStats stats);
+    }
+
+    // One nutrient's statistics
+    private static final class Metric {
+        final Ewma average = Ewma.ofSpan(AVERAGE_SPAN_DAYS);
+        final RollingWindow lastWeek = new RollingWindow(WINDOW_DAYS);
+        final P2Quantile median = new P2Quantile(0.5);
+        final P2Quantile p90 = new P2Quantile(0.9);
+        double today;
+
+        void closeDay() {
+            average.add(today);
+            median.add(today);
+            p90.add(today);
+            today = 0;
+        }
+    }
+
+    private final int userId;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private Map<Nutrient, Metric> metrics = newMetrics();
+    private long currentDay = LocalDate.now().toEpochDay();
+    private int entriesToday;
+    private boolean seeded;
+    private boolean loading;
+    private boolean reloadNeeded;
+
+    private IntakeStats(int userId) {
+        this.userId = userId;
+    }
+
+    // The user's statistics, seeded in the background the first time they're asked for
+    public static IntakeStats forUser(int userId) {
+        IntakeStats stats = BY_USER.computeIfAbsent(userId, IntakeStats::new);
+        stats.seedOnce();
+        return stats;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    // Feeds in a newly logged entry (sign 1) or takes back a deleted one (sign -1). Call after the
+    // write has committed.
+    public void record(MealEntry entry, int sign) {
+        synchronized (this) {
+            if (loading) {
+                // The seed may or may not have read this entry; read again once it's done
+                reloadNeeded = true;
+                return;
+            }
+            long day = entry.getEatenOn().toEpochDay();
+            advanceTo(Math.max(day, LocalDate.now().toEpochDay()));
+            for (Nutrient nutrient : Nutrient.values()) {
+                Metric metric = metrics.get(nutrient);
+                double value = sign * nutrient.of(entry);
+                metric.lastWeek.add(day, value);
+                if (day == currentDay) {
+                    metric.today += value;
+                }
+            }
+            if (day == currentDay) {
+                entriesToday += sign;
+            }
+        }
+        fireChanged();
+    }
+
+    public synchronized Summary summary(Nutrient nutrient) {
+        long today = LocalDate.now().toEpochDay();
+        advanceTo(today);
+        Metric metric = metrics.get(nutrient);
+        return new Summary(metric.today, metric.average.get(), metric.lastWeek.sum(today), metric.lastWeek.days(today),
+                metric.median.get(), metric.p90.get(), metric.median.count());
+    }
+
+    // Closes every day before the given one
+    private void advanceTo(long day) {
+        if (day <= currentDay) {
+            return;
+        }
+        if (entriesToday > 0) {
+            for (Metric metric : metrics.values()) {
+                metric.closeDay();
+            }
+        } else {
+            for (Metric metric : metrics.values()) {
+                metric.today = 0;
+            }
+        }
+        entriesToday = 0;
+        currentDay = day;
+    }
+
+    private synchronized void seedOnce() {
+        if (seeded || loading) {
+            return;
+        }
+        loading = true;
+        LocalDate today = LocalDate.now();
+        DataAccess.supply(() -> Repositories.meals().rollups(userId, RollupPeriod.DAY, today.minusDays(SEED_DAYS), today))
+                .whenComplete((rows, error) -> {
+                    synchronized (this) {
+                        loading = false;
+                        if (error == null && !reloadNeeded) {
+                            seed(rows, today.toEpochDay());
+                        }
+                        boolean retry = reloadNeeded;
+                        reloadNeeded = false;
+                        if (retry) {
+                            seedOnce();
+                            return;
+                        }
+                    }
+                    if (error == null) {
+                        fireChanged();
+                    }
+                });
+    }
+
+    // Rows come in date order, so each completed day is fed in exactly as if it had streamed past
+    private void seed(List<NutritionTotals> rows, long today) {
+        Map<Nutrient, Metric> seededMetrics = newMetrics();
+        int seededToday = 0;
+        for (NutritionTotals row : rows) {
+            long day = row.getPeriodStart().toEpochDay();
+            for (Nutrient nutrient : Nutrient.values()) {
+                Metric metric = seededMetrics.get(nutrient);
+                double value = nutrient.of(row);
+                metric.lastWeek.add(day, value);
+                metric.today = value;
+                if (day < today) {
+                    metric.closeDay();
+                }
+            }
+            if (day == today) {
+                seededToday = row.getEntries();
+            }
+        }
+        metrics = seededMetrics;
+        currentDay = today;
+        entriesToday = seededToday;
+        seeded = true;
+    }
+
+    private static Map<Nutrient, Metric> newMetrics() {
+        Map<Nutrient, Metric> metrics = new EnumMap<>(Nutrient.class);
+        for (Nutrient nutrient : Nutrient.values()) {
+            metrics.put(nutrient, new Metric());
+        }
+        return metrics;
+    }
+
+    private void fireChanged() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (Listener listener : listeners) {
+                listener.statsChanged(this);
+            }
+        });
+    }
+}
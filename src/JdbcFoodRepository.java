@@ -0,0 +1,231 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// FoodRepository over MySQL. Every call borrows a pooled connection, whose statement cache
+// makes the repeated statements below cheap to prepare.
+public class JdbcFoodRepository implements FoodRepository {
+    // Rows fetched per round trip while reading changes
+    private static final int CHANGE_BATCH = 1000;
+
+    private static final String UPDATE_SQL =
+            "UPDATE food_choices SET food_name = ?, calories = ?, category = ?, description = ?, protein = ?, carbs = ?, fats = ? WHERE id = ?";
+
+    @Override
+    public List<FoodItem> findPage(int afterId, int limit) throws SQLException {
+        List<FoodItem> page = new ArrayList<>(limit);
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + FoodItem.COLUMNS + " FROM food_choices WHERE id > ? ORDER BY id LIMIT ?")) {
+            statement.setFetchSize(limit);
+            statement.setInt(1, afterId);
+            statement.setInt(2, limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    page.add(FoodItem.read(resultSet));
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public int countUpTo(int limit) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM (SELECT id FROM food_choices LIMIT ?) AS probe")) {
+            statement.setInt(1, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    @Override
+    public List<FoodItem> search(String text, String category, int maxCalories, int limit) throws SQLException {
+        List<FoodItem> results = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = ServerFoodSearch.prepare(connection, text, category, maxCalories, limit);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                results.add(FoodItem.read(resultSet));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public FoodItem insert(String name, int calories, String category, String description,
+                           double protein, double carbs, double fats) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO food_choices (food_name, calories, category, description, protein, carbs, fats) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, name);
+            statement.setInt(2, calories);
+            statement.setString(3, category);
+            statement.setString(4, description);
+            statement.setDouble(5, protein);
+            statement.setDouble(6, carbs);
+            statement.setDouble(7, fats);
+            statement.executeUpdate();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No id returned for the new food item");
+                }
+                return new FoodItem(keys.getInt(1), name, calories, category, description, protein, carbs, fats);
+            }
+        }
+    }
+
+    @Override
+    public void update(FoodItem item) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(statement, item);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void delete(int id) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement("DELETE FROM food_choices WHERE id = ?")) {
+            statement.setInt(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    // With rewriteBatchedStatements, the whole batch goes out in one round trip
+    @Override
+    public void updateAll(List<FoodItem> items) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                    for (FoodItem item : items) {
+                        bindUpdate(statement, item);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void deleteAll(int[] ids) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM food_choices WHERE id = ?")) {
+                    for (int id : ids) {
+                        statement.setInt(1, id);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+    }
+
+    @Override
+    public long currentVersion() throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            return readVersions(connection)[0];
+        }
+    }
+
+    // Rows and tombstones stamped after the given version, up to the version read first.
+    // Writers hold the version counter's row lock until they commit (see fitness_tracker.sql),
+    // so nothing at or below that version can still be uncommitted.
+    @Override
+    public Changes changesSince(long since) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            long[] versions = readVersions(connection);
+            long version = versions[0];
+            if (versions[1] > since) {
+                return new Changes(version, List.of(), new int[0], false);
+            }
+            if (version == since) {
+                return new Changes(version, List.of(), new int[0], true);
+            }
+            return new Changes(version, fetchChanged(connection, since, version),
+                    fetchRemoved(connection, since, version), true);
+        }
+    }
+
+    private static void bindUpdate(PreparedStatement statement, FoodItem item) throws SQLException {
+        statement.setString(1, item.getName());
+        statement.setInt(2, item.getCalories());
+        statement.setString(3, item.getCategory());
+        statement.setString(4, item.getDescription());
+        statement.setDouble(5, item.getProtein());
+        statement.setDouble(6, item.getCarbs());
+        statement.setDouble(7, item.getFats());
+        statement.setInt(8, item.getId());
+    }
+
+    // Rows inserted or updated with a version in (since, upTo], fetched in version order
+    private static List<FoodItem> fetchChanged(Connection connection, long since, long upTo) throws SQLException {
+        List<FoodItem> changed = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + FoodItem.COLUMNS + ", row_version FROM food_choices " +
+                        "WHERE row_version > ? AND row_version <= ? ORDER BY row_version LIMIT ?")) {
+            statement.setFetchSize(CHANGE_BATCH);
+            long after = since;
+            int fetched;
+            do {
+                statement.setLong(1, after);
+                statement.setLong(2, upTo);
+                statement.setInt(3, CHANGE_BATCH);
+                fetched = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        changed.add(FoodItem.read(resultSet));
+                        after = resultSet.getLong(9);
+                        fetched++;
+                    }
+                }
+            } while (fetched == CHANGE_BATCH);
+        }
+        return changed;
+    }
+
+    private static int[] fetchRemoved(Connection connection, long since, long upTo) throws SQLException {
+        int[] removed = new int[16];
+        int count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT id FROM food_choices_deleted WHERE row_version > ? AND row_version <= ?")) {
+            statement.setLong(1, since);
+            statement.setLong(2, upTo);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (count == removed.length) {
+                        removed = Arrays.copyOf(removed, count * 2);
+                    }
+                    removed[count++] = resultSet.getInt(1);
+                }
+            }
+        }
+        return Arrays.copyOf(removed, count);
+    }
+
+    // {current version, newest purged tombstone version}
+    private static long[] readVersions(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT version, purged_version FROM food_change_version WHERE id = 1");
+             ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new SQLException("food_change_version is empty; run the change tracking statements in fitness_tracker.sql");
+            }
+            return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+        }
+    }
+}
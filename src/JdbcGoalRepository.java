@@ -0,0 +1,150 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// GoalRepository over MySQL
+public class JdbcGoalRepository implements GoalRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO goals (user_id, title, description, target_date, priority, completed) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE goals SET title = ?, description = ?, target_date = ?, priority = ?, completed = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM goals WHERE id = ?";
+
+    @Override
+    public List<Goal> findByUser(int userId) throws SQLException {
+        List<Goal> goals = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, title, description, target_date, priority, completed FROM goals WHERE user_id = ? ORDER BY id")) {
+            statement.setInt(1, userId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    goals.add(new Goal(
+                            resultSet.getInt(1),
+                            resultSet.getString(2),
+                            resultSet.getString(3),
+                            resultSet.getDate(4).toLocalDate(),
+                            Priority.parse(resultSet.getString(5)),
+                            resultSet.getBoolean(6)
+                    ));
+                }
+            }
+        }
+        return goals;
+    }
+
+    @Override
+    public void insert(int userId, Goal goal) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(statement, userId, goal);
+            statement.executeUpdate();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No id returned for the new goal");
+                }
+                goal.setId(keys.getInt(1));
+            }
+        }
+    }
+
+    @Override
+    public void update(Goal goal) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+            bindUpdate(statement, goal);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void delete(int goalId) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+            statement.setInt(1, goalId);
+            statement.executeUpdate();
+        }
+    }
+
+    // One batch per kind of write; with rewriteBatchedStatements each goes out in a single round trip
+    @Override
+    public void saveAll(int userId, List<Goal> inserted, List<Goal> updated, int[] deletedIds) throws SQLException {
+        if (inserted.isEmpty() && updated.isEmpty() && deletedIds.length == 0) {
+            return;
+        }
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                if (!inserted.isEmpty()) {
+                    insertBatch(connection, userId, inserted);
+                }
+                if (!updated.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                        for (Goal goal : updated) {
+                            bindUpdate(statement, goal);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                if (deletedIds.length > 0) {
+                    try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+                        for (int id : deletedIds) {
+                            statement.setInt(1, id);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+            });
+        }
+    }
+
+    // Generated keys come back in insertion order, one per batched row
+    private static void insertBatch(Connection connection, int userId, List<Goal> goals) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Goal goal : goals) {
+                bindInsert(statement, userId, goal);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            int[] ids = new int[goals.size()];
+            int count = 0;
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next() && count < ids.length) {
+                    ids[count++] = keys.getInt(1);
+                }
+            }
+            if (count != ids.length) {
+                throw new SQLException("Expected " + ids.length + " ids for the new goals, got " + count);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                goals.get(i).setId(ids[i]);
+            }
+        }
+    }
+
+    private static void bindInsert(PreparedStatement statement, int userId, Goal goal) throws SQLException {
+        statement.setInt(1, userId);
+        statement.setString(2, goal.getTitle());
+        statement.setString(3, goal.getDescription());
+        statement.setDate(4, Date.valueOf(goal.getTargetDate()));
+        statement.setString(5, goal.getPriority().getLabel());
+        statement.setBoolean(6, goal.isCompleted());
+    }
+
+    private static void bindUpdate(PreparedStatement statement, Goal goal) throws SQLException {
+        statement.setString(1, goal.getTitle());
+        statement.setString(2, goal.getDescription());
+        statement.setDate(3, Date.valueOf(goal.getTargetDate()));
+        statement.setString(4, goal.getPriority().getLabel());
+        statement.setBoolean(5, goal.isCompleted());
+        statement.setInt(6, goal.getId());
+    }
+}
@@ -0,0 +1,253 @@
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// MealLogRepository over MySQL (or H2 in embedded mode). The rollups are kept up to date here,
+// in the transaction that writes the log, rather than by triggers, so both databases share the
+// same code: each write adds its entry's values to its day, week and month rows (subtracting
+// the old values first on update and delete) and drops rows left with no entries.
+public class JdbcMealLogRepository implements MealLogRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO meal_log (user_id, food_id, food_name, eaten_on, servings, calories, protein, carbs, fats) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE meal_log SET eaten_on = ?, servings = ?, calories = ?, protein = ?, carbs = ?, fats = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM meal_log WHERE id = ?";
+    // Locks the entry so a concurrent update or delete can't subtract it from the rollups twice
+    private static final String LOCK_SQL =
+            "SELECT user_id, eaten_on, calories, protein, carbs, fats FROM meal_log WHERE id = ? FOR UPDATE";
+    private static final String ROLLUP_SQL =
+            "INSERT INTO meal_rollup (user_id, period, period_start, entries, calories, protein, carbs, fats) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                    "entries = entries + ?, calories = calories + ?, protein = protein + ?, carbs = carbs + ?, fats = fats + ?";
+    // Drops a period left with no entries, so it reads the same as one never logged in
+    private static final String PRUNE_SQL =
+            "DELETE FROM meal_rollup WHERE user_id = ? AND period = ? AND period_start = ? AND entries <= 0";
+    private static final String ROLLUP_COLUMNS = "SELECT period_start, entries, calories, protein, carbs, fats FROM meal_rollup ";
+
+    @Override
+    public List<MealEntry> findByDay(int userId, LocalDate day) throws SQLException {
+        List<MealEntry> entries = new ArrayList<>();
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, food_id, food_name, eaten_on, servings, calories, protein, carbs, fats " +
+                             "FROM meal_log WHERE user_id = ? AND eaten_on = ? ORDER BY id")) {
+            statement.setInt(1, userId);
+            statement.setDate(2, Date.valueOf(day));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    entries.add(new MealEntry(
+                            resultSet.getInt(1),
+                            resultSet.getInt(2),
+                            resultSet.getString(3),
+                            resultSet.getDate(4).toLocalDate(),
+                            resultSet.getDouble(5),
+                            resultSet.getDouble(6),
+                            resultSet.getDouble(7),
+                            resultSet.getDouble(8),
+                            resultSet.getDouble(9)
+                    ));
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void log(int userId, MealEntry entry) throws SQLException {
+        logAll(userId, Collections.singletonList(entry));
+    }
+
+    // The inserts go out as one batch, and the rollups get one upsert per period for each day
+    // logged, however many entries share it
+    @Override
+    public void logAll(int userId, List<MealEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                insertBatch(connection, userId, entries);
+
+                // entries, calories, protein, carbs, fats for each day
+                Map<LocalDate, double[]> byDay = new LinkedHashMap<>();
+                for (MealEntry entry : entries) {
+                    double[] sums = byDay.computeIfAbsent(entry.getEatenOn(), day -> new double[5]);
+                    sums[0]++;
+                    sums[1] += entry.getCalories();
+                    sums[2] += entry.getProtein();
+                    sums[3] += entry.getCarbs();
+                    sums[4] += entry.getFats();
+                }
+                for (Map.Entry<LocalDate, double[]> day : byDay.entrySet()) {
+                    double[] sums = day.getValue();
+                    applyToRollups(connection, userId, day.getKey(), (int) sums[0], sums[1], sums[2], sums[3], sums[4]);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void update(MealEntry entry) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                int userId = subtractFromRollups(connection, entry.getId());
+                if (userId < 0) {
+                    return;
+                }
+                try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                    statement.setDate(1, Date.valueOf(entry.getEatenOn()));
+                    statement.setDouble(2, entry.getServings());
+                    bindNutrition(statement, 3, entry.getCalories(), entry.getProtein(), entry.getCarbs(), entry.getFats());
+                    statement.setInt(7, entry.getId());
+                    statement.executeUpdate();
+                }
+                applyToRollups(connection, userId, entry.getEatenOn(), 1,
+                        entry.getCalories(), entry.getProtein(), entry.getCarbs(), entry.getFats());
+            });
+        }
+    }
+
+    @Override
+    public void delete(int entryId) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow()) {
+            JdbcTransaction.run(connection, () -> {
+                if (subtractFromRollups(connection, entryId) < 0) {
+                    return;
+                }
+                try (PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+                    statement.setInt(1, entryId);
+                    statement.executeUpdate();
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<NutritionTotals> rollups(int userId, RollupPeriod period, LocalDate from, LocalDate to) throws SQLException {
+        List<NutritionTotals> totals = new ArrayList<>();
+        String sql = ROLLUP_COLUMNS + (from == null
+                ? "WHERE user_id = ? AND period = ? AND period_start <= ? ORDER BY period_start"
+                : "WHERE user_id = ? AND period = ? AND period_start <= ? AND period_start >= ? ORDER BY period_start");
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, userId);
+            statement.setString(2, period.getCode());
+            statement.setDate(3, Date.valueOf(to));
+            if (from != null) {
+                statement.setDate(4, Date.valueOf(from));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    totals.add(new NutritionTotals(
+                            resultSet.getDate(1).toLocalDate(),
+                            resultSet.getInt(2),
+                            resultSet.getDouble(3),
+                            resultSet.getDouble(4),
+                            resultSet.getDouble(5),
+                            resultSet.getDouble(6)
+                    ));
+                }
+            }
+        }
+        return totals;
+    }
+
+    // Generated keys come back in insertion order, one per batched row
+    private static void insertBatch(Connection connection, int userId, List<MealEntry> entries) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (MealEntry entry : entries) {
+                statement.setInt(1, userId);
+                if (entry.getFoodId() == 0) {
+                    statement.setNull(2, Types.INTEGER);
+                } else {
+                    statement.setInt(2, entry.getFoodId());
+                }
+                statement.setString(3, entry.getFoodName());
+                statement.setDate(4, Date.valueOf(entry.getEatenOn()));
+                statement.setDouble(5, entry.getServings());
+                bindNutrition(statement, 6, entry.getCalories(), entry.getProtein(), entry.getCarbs(), entry.getFats());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            int[] ids = new int[entries.size()];
+            int count = 0;
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next() && count < ids.length) {
+                    ids[count++] = keys.getInt(1);
+                }
+            }
+            if (count != ids.length) {
+                throw new SQLException("Expected " + ids.length + " ids for the new meal log entries, got " + count);
+            }
+            for (int i = 0; i < ids.length; i++) {
+                entries.get(i).setId(ids[i]);
+            }
+        }
+    }
+
+    // Takes the entry's stored values back out of its rollups and returns its user's id,
+    // or -1 if there is no such entry
+    private static int subtractFromRollups(Connection connection, int entryId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_SQL)) {
+            statement.setInt(1, entryId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return -1;
+                }
+                int userId = resultSet.getInt(1);
+                applyToRollups(connection, userId, resultSet.getDate(2).toLocalDate(), -1,
+                        -resultSet.getDouble(3), -resultSet.getDouble(4), -resultSet.getDouble(5), -resultSet.getDouble(6));
+                return userId;
+            }
+        }
+    }
+
+    // One upsert per period, sent as a single batch
+    private static void applyToRollups(Connection connection, int userId, LocalDate day, int entries,
+                                       double calories, double protein, double carbs, double fats) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(ROLLUP_SQL)) {
+            for (RollupPeriod period : RollupPeriod.values()) {
+                statement.setInt(1, userId);
+                statement.setString(2, period.getCode());
+                statement.setDate(3, Date.valueOf(period.start(day)));
+                statement.setInt(4, entries);
+                bindNutrition(statement, 5, calories, protein, carbs, fats);
+                statement.setInt(9, entries);
+                bindNutrition(statement, 10, calories, protein, carbs, fats);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        if (entries < 0) {
+            try (PreparedStatement statement = connection.prepareStatement(PRUNE_SQL)) {
+                for (RollupPeriod period : RollupPeriod.values()) {
+                    statement.setInt(1, userId);
+                    statement.setString(2, period.getCode());
+                    statement.setDate(3, Date.valueOf(period.start(day)));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void bindNutrition(PreparedStatement statement, int first,
+                                      double calories, double protein, double carbs, double fats) throws SQLException {
+        statement.setDouble(first, calories);
+        statement.setDouble(first + 1, protein);
+        statement.setDouble(first + 2, carbs);
+        statement.setDouble(first + 3, fats);
+    }
+}
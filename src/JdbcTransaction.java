@@ -0,0 +1,28 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Runs a group of statements on one connection as a single transaction
+public final class JdbcTransaction {
+    private JdbcTransaction() {
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    // Commits the action as a whole or not at all
+    public static void run(Connection connection, SqlAction action) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            action.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// UserRepository over MySQL
+public class JdbcUserRepository implements UserRepository {
+    private static final String COLUMNS = "id, username, email, full_name, age";
+
+    @Override
+    public User authenticate(String username, String password) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + COLUMNS + " FROM users WHERE username = ? AND password = ?")) {
+            statement.setString(1, username);
+            statement.setString(2, password);  // In a real application, you should compare hashed passwords
+            return readUser(statement);
+        }
+    }
+
+    @Override
+    public User register(String username, String password, String email, String fullName, int age) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO users (username, password, email, full_name, age) VALUES (?, ?, ?, ?, ?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, username);
+            statement.setString(2, password);  // In a real application, you should hash the password
+            statement.setString(3, email);
+            statement.setString(4, fullName);
+            statement.setInt(5, age);
+            statement.executeUpdate();
+
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("No id returned for the new user");
+                }
+                return new User(keys.getInt(1), username, email, fullName, age);
+            }
+        }
+    }
+
+    @Override
+    public User findByUsername(String username) throws SQLException {
+        try (Connection connection = DatabaseConnection.borrow();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + COLUMNS + " FROM users WHERE username = ?")) {
+            statement.setString(1, username);
+            return readUser(statement);
+        }
+    }
+
+    private static User readUser(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            return new User(resultSet.getInt(1), resultSet.getString(2), resultSet.getString(3),
+                    resultSet.getString(4), resultSet.getInt(5));
+        }
+    }
+}
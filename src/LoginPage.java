@@ -1,10 +1,7 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.border.*;
 import javax.swing.UIManager;
 import javax.swing.JFrame;
@@ -24,6 +21,8 @@ public class LoginPage extends JFrame {
     private final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
     private final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 24);
 
+    private final DataAccess.TaskGroup tasks = new DataAccess.TaskGroup();
+
     public LoginPage() {
         setTitle("VitalFit - Login");
         setSize(500, 600);
@@ -96,12 +95,8 @@ public class LoginPage extends JFrame {
 
         // Login button
         JButton loginButton = createStyledButton("Login");
-        loginButton.addActionListener(e -> {
-            if (validateLogin(userText.getText(), new String(passwordText.getPassword()))) {
-                new MainPage();
-                dispose();
-            }
-        });
+        loginButton.addActionListener(e ->
+                validateLogin(userText.getText(), new String(passwordText.getPassword()), loginButton));
 
         // Register button
         JButton registerButton = createStyledButton("Create New Account");
@@ -246,44 +241,39 @@ public class LoginPage extends JFrame {
         return button;
     }
 
-    private boolean validateLogin(String username, String password) {
+    private void validateLogin(String username, String password, JButton loginButton) {
         // Basic validation
         if (username.trim().isEmpty() || password.trim().isEmpty()) {
             showError("Please enter both username and password.");
-            return false;
+            return;
         }
 
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
-
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);  // In a real application, you should compare hashed passwords
+        // The credential check runs on the data-access executor so a slow database doesn't freeze the UI
+        CompletableFuture<User> login = DataAccess.supply(() -> Repositories.users().authenticate(username, password));
 
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
+        DataAccess.whileBusy(tasks.track(login), this, loginButton);
+        DataAccess.onEdt(login, user -> {
+            if (user != null) {
                 // User found
+                UserSession.setCurrentUser(user);
+                GoalSession.start(user);
                 showSuccess("Login successful!");
-                rs.close();
-                pstmt.close();
-                conn.close();
-                return true;
+                new MainPage();
+                dispose();
             } else {
                 // User not found
                 showError("Invalid username or password.");
-                rs.close();
-                pstmt.close();
-                conn.close();
-                return false;
             }
+        }, error -> {
+            error.printStackTrace();
+            showError("Database error: " + error.getMessage());
+        });
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showError("Database error: " + e.getMessage());
-            return false;
-        }
+    @Override
+    public void dispose() {
+        tasks.cancelAll();
+        super.dispose();
     }
 
     private void showError(String message) {
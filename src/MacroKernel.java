@@ -0,0 +1,8 @@
+// Sums FoodCatalog's calorie and macro columns over a set of rows. Rows are given as a bitmap in
+// BitSet.toLongArray() layout: bit i of word w selects row 64 * w + i. Working on the primitive
+// columns and whole 64-row words keeps the cost per row to a few loads and adds, so summing
+// millions of rows is limited by memory bandwidth rather than per-item calls.
+// Implementations are stateless; MacroKernels picks one.
+public interface MacroKernel {
+    void sum(int[] calories, float[] protein, float[] carbs, float[] fats, long[] rowMask, FoodCatalog.Totals totals);
+}
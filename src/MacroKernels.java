@@ -0,0 +1,26 @@
+// Picks the MacroKernel for this JVM. VectorMacroKernel lives in src-vector and is only compiled
+// and usable with the incubating Vector API:
+//   javac --add-modules jdk.incubator.vector -d out src/*.java src-vector/*.java
+//   java --add-modules jdk.incubator.vector -cp out:... FitnessApp
+// Without it (or with -Dfitness.simd=false) the scalar kernel is used.
+public final class MacroKernels {
+    private static final MacroKernel PREFERRED = choose();
+
+    private MacroKernels() {
+    }
+
+    public static MacroKernel preferred() {
+        return PREFERRED;
+    }
+
+    private static MacroKernel choose() {
+        if (Boolean.parseBoolean(System.getProperty("fitness.simd", "true"))) {
+            try {
+                return (MacroKernel) Class.forName("VectorMacroKernel").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+                // Not compiled in, module not added, or no usable vector shape on this CPU
+            }
+        }
+        return new ScalarMacroKernel();
+    }
+}
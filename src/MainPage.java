@@ -4,11 +4,19 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
 
 public class MainPage extends JFrame {
     private JLabel dateTimeLabel;
     private JLabel welcomeLabel;
+    private JLabel statsLabel;
     private Timer timer;
+    private IntakeStats stats;
+    private final IntakeStats.Listener statsListener = changed -> updateStats();
+    private JLabel reminderLabel;
+    private GoalReminders reminders;
+    private final Consumer<List<GoalReminders.Notice>> reminderDisplay = this::showReminders;
 
     public MainPage() {
         setTitle("Health & Fitness Tracker - Main Page");
@@ -52,9 +60,42 @@ public class MainPage extends JFrame {
         dateTimeLabel.setFont(new Font("Arial", Font.PLAIN, 14));
         dateTimeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
+        // Today's intake against the user's usual day, from the running statistics
+        statsLabel = new JLabel(" ");
+        statsLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        User user = UserSession.getCurrentUser();
+        if (user != null) {
+            stats = IntakeStats.forUser(user.getId());
+            stats.addListener(statsListener);
+            updateStats();
+        }
+
         headerPanel.add(welcomeLabel);
         headerPanel.add(Box.createRigidArea(new Dimension(0, 10)));
         headerPanel.add(dateTimeLabel);
+        headerPanel.add(Box.createRigidArea(new Dimension(0, 5)));
+        headerPanel.add(statsLabel);
+
+        // Goal reminders that fire while the user is here; clicking one opens the Goals page
+        reminderLabel = new JLabel();
+        reminderLabel.setFont(new Font("Arial", Font.BOLD, 13));
+        reminderLabel.setForeground(new Color(178, 34, 34));
+        reminderLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        reminderLabel.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        reminderLabel.setVisible(false);
+        reminderLabel.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent evt) {
+                new GoalsPage();
+                dispose();
+            }
+        });
+        headerPanel.add(Box.createRigidArea(new Dimension(0, 5)));
+        headerPanel.add(reminderLabel);
+        if (user != null) {
+            reminders = GoalSession.current().getReminders();
+            reminders.attach(reminderDisplay);
+        }
 
         return headerPanel;
     }
@@ -165,6 +206,7 @@ public class MainPage extends JFrame {
             @Override
             public void actionPerformed(ActionEvent e) {
                 updateDateTime();
+                updateStats();
             }
         });
         timer.start();
@@ -176,12 +218,37 @@ public class MainPage extends JFrame {
         dateTimeLabel.setText(now.format(formatter));
     }
 
+    private void showReminders(List<GoalReminders.Notice> notices) {
+        reminderLabel.setText("⏰ " + GoalReminders.describe(notices) + " (click to view)");
+        reminderLabel.setVisible(true);
+        Toolkit.getDefaultToolkit().beep();
+    }
+
+    private void updateStats() {
+        if (stats == null || !stats.isSeeded()) {
+            return;
+        }
+        IntakeStats.Summary calories = stats.summary(IntakeStats.Nutrient.CALORIES);
+        String text = String.format("Today: %,.0f kcal", calories.getToday());
+        if (calories.getDays() > 0) {
+            text += String.format("  |  Trend: %,.0f kcal/day  |  Typical day: %,.0f (90%% under %,.0f)",
+                    calories.getAverage(), calories.getMedian(), calories.getP90());
+        }
+        statsLabel.setText(text);
+    }
+
     // Method to clean up resources
     @Override
     public void dispose() {
         if (timer != null) {
             timer.stop();
         }
+        if (stats != null) {
+            stats.removeListener(statsListener);
+        }
+        if (reminders != null) {
+            reminders.detach(reminderDisplay);
+        }
         super.dispose();
     }
 
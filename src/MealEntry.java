@@ -0,0 +1,63 @@
+import java.time.LocalDate;
+
+// A row of the meal_log table: some servings of a food eaten on a day. The food's name and
+// nutrition are copied when it's logged, so later edits to the catalog don't rewrite history.
+// The nutrition values are for all the servings, rounded to the 2 decimals the table keeps.
+public class MealEntry {
+    private int id;
+    private final int foodId;
+    private final String foodName;
+    private final LocalDate eatenOn;
+    private final double servings;
+    private final double calories;
+    private final double protein;
+    private final double carbs;
+    private final double fats;
+
+    public MealEntry(int id, int foodId, String foodName, LocalDate eatenOn, double servings,
+                     double calories, double protein, double carbs, double fats) {
+        this.id = id;
+        this.foodId = foodId;
+        this.foodName = foodName;
+        this.eatenOn = eatenOn;
+        this.servings = servings;
+        this.calories = round(calories);
+        this.protein = round(protein);
+        this.carbs = round(carbs);
+        this.fats = round(fats);
+    }
+
+    // A new entry for servings of a catalog food
+    public static MealEntry of(FoodItem food, LocalDate eatenOn, double servings) {
+        return new MealEntry(0, food.getId(), food.getName(), eatenOn, servings,
+                food.getCalories() * servings, food.getProtein() * servings,
+                food.getCarbs() * servings, food.getFats() * servings);
+    }
+
+    // The same food moved to another day or scaled to another number of servings
+    public MealEntry with(LocalDate eatenOn, double servings) {
+        double scale = this.servings == 0 ? 0 : servings / this.servings;
+        return new MealEntry(id, foodId, foodName, eatenOn, servings,
+                calories * scale, protein * scale, carbs * scale, fats * scale);
+    }
+
+    public MealEntry copy() {
+        return new MealEntry(id, foodId, foodName, eatenOn, servings, calories, protein, carbs, fats);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    // 0 if the entry wasn't logged from the catalog, or its food has since been deleted
+    public int getFoodId() { return foodId; }
+    public String getFoodName() { return foodName; }
+    public LocalDate getEatenOn() { return eatenOn; }
+    public double getServings() { return servings; }
+    public double getCalories() { return calories; }
+    public double getProtein() { return protein; }
+    public double getCarbs() { return carbs; }
+    public double getFats() { return fats; }
+}
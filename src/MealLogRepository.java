@@ -0,0 +1,26 @@
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+// Access to the meal_log table and the per-period totals kept beside it in meal_rollup.
+// Every write updates the user's day, week and month totals in the same transaction, so charts
+// read a few hundred rollup rows instead of summing the whole log.
+public interface MealLogRepository {
+    // The user's entries for one day in id order
+    List<MealEntry> findByDay(int userId, LocalDate day) throws SQLException;
+
+    // Saves a new entry and sets its generated id
+    void log(int userId, MealEntry entry) throws SQLException;
+
+    // Saves several new entries, e.g. a whole meal, in one transaction and sets their generated ids
+    void logAll(int userId, List<MealEntry> entries) throws SQLException;
+
+    // Rewrites an entry's day, servings and nutrition, moving its share of the totals with it
+    void update(MealEntry entry) throws SQLException;
+
+    void delete(int entryId) throws SQLException;
+
+    // The user's totals for each period starting between from (or the first, if null) and to,
+    // inclusive, in date order. Periods with nothing logged have no row.
+    List<NutritionTotals> rollups(int userId, RollupPeriod period, LocalDate from, LocalDate to) throws SQLException;
+}
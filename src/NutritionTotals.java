@@ -0,0 +1,34 @@
+import java.time.LocalDate;
+
+// A row of meal_rollup: what a user logged in one day, week or month
+public class NutritionTotals {
+    private final LocalDate periodStart;
+    private final int entries;
+    private final double calories;
+    private final double protein;
+    private final double carbs;
+    private final double fats;
+
+    public NutritionTotals(LocalDate periodStart, int entries, double calories, double protein, double carbs, double fats) {
+        this.periodStart = periodStart;
+        this.entries = entries;
+        this.calories = calories;
+        this.protein = protein;
+        this.carbs = carbs;
+        this.fats = fats;
+    }
+
+    // These totals with an entry added (sign 1) or taken away (sign -1)
+    public NutritionTotals plus(MealEntry entry, int sign) {
+        return new NutritionTotals(periodStart, entries + sign,
+                calories + sign * entry.getCalories(), protein + sign * entry.getProtein(),
+                carbs + sign * entry.getCarbs(), fats + sign * entry.getFats());
+    }
+
+    public LocalDate getPeriodStart() { return periodStart; }
+    public int getEntries() { return entries; }
+    public double getCalories() { return calories; }
+    public double getProtein() { return protein; }
+    public double getCarbs() { return carbs; }
+    public double getFats() { return fats; }
+}
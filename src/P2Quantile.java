@@ -0,0 +1,99 @@
+import java.util.Arrays;
+
+// Running estimate of one quantile with the P-square algorithm (Jain and Chlamtac, 1985).
+// Five markers track the minimum, p/2, p, (1+p)/2 and the maximum; each value moves the marker
+// positions, and markers that drift from where they should be are nudged along a parabola through
+// their neighbours. O(1) memory and time per value, however long the stream.
+public class P2Quantile {
+    private final double p;
+    private final double[] heights = new double[5];
+    private final double[] positions = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private long count;
+
+    public P2Quantile(double p) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("quantile must be in (0, 1): " + p);
+        }
+        this.p = p;
+        increments = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    public void add(double x) {
+        if (count < 5) {
+            heights[(int) count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i;
+                }
+                desired[0] = 0;
+                desired[1] = 2 * p;
+                desired[2] = 4 * p;
+                desired[3] = 2 + 2 * p;
+                desired[4] = 4;
+            }
+            return;
+        }
+
+        int cell;
+        if (x < heights[0]) {
+            heights[0] = x;
+            cell = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = Math.max(heights[4], x);
+            cell = 3;
+        } else {
+            cell = 0;
+            while (x >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+        count++;
+
+        for (int i = 1; i < 4; i++) {
+            double offset = desired[i] - positions[i];
+            if (offset >= 1 && positions[i + 1] - positions[i] > 1
+                    || offset <= -1 && positions[i - 1] - positions[i] < -1) {
+                int step = offset > 0 ? 1 : -1;
+                double height = parabolic(i, step);
+                if (heights[i - 1] < height && height < heights[i + 1]) {
+                    heights[i] = height;
+                } else {
+                    heights[i] += step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+                }
+                positions[i] += step;
+            }
+        }
+    }
+
+    private double parabolic(int i, int step) {
+        return heights[i] + step / (positions[i + 1] - positions[i - 1])
+                * ((positions[i] - positions[i - 1] + step) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i])
+                + (positions[i + 1] - positions[i] - step) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+    }
+
+    // The estimate; exact (nearest rank) until five values have been seen, NaN before the first
+    public double get() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] seen = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(seen);
+            return seen[(int) Math.min(count - 1, Math.max(0, Math.ceil(p * count) - 1))];
+        }
+        return heights[2];
+    }
+
+    public long count() {
+        return count;
+    }
+}
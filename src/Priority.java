@@ -0,0 +1,32 @@
+// Goal priority, most urgent first. Stored in the goals table by label.
+public enum Priority {
+    HIGH("High"),
+    MEDIUM("Medium"),
+    LOW("Low");
+
+    private final String label;
+
+    Priority(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Reads a stored label, ignoring case
+    public static Priority parse(String label) {
+        for (Priority priority : values()) {
+            if (priority.label.equalsIgnoreCase(label)) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority: " + label);
+    }
+
+    // Shown as-is in combo boxes
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -3,15 +3,8 @@ import java.awt.*;
 import java.awt.event.*;
 import javax.swing.border.*;
 import java.util.regex.Pattern;
-import java.sql.*;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.ResultSet;
-import java.sql.PreparedStatement;
-import java.sql.Connection;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.CompletableFuture;
 
 public class RegisterPage extends JFrame {
     private final Color PRIMARY_COLOR = new Color(70, 130, 180); // Steel Blue
@@ -20,6 +13,8 @@ public class RegisterPage extends JFrame {
     private final Font MAIN_FONT = new Font("Segoe UI", Font.PLAIN, 14);
     private final Font HEADER_FONT = new Font("Segoe UI", Font.BOLD, 24);
 
+    private final DataAccess.TaskGroup tasks = new DataAccess.TaskGroup();
+
     public RegisterPage() {
         setTitle("Health & Fitness Tracker - Register");
         setSize(500, 700);
@@ -96,8 +91,12 @@ public class RegisterPage extends JFrame {
                     fullNameText.getText(),
                     ageText.getText(),
                     termsCheckBox.isSelected())) {
-                new MainPage();
-                dispose();
+                registerUser(userText.getText(),
+                        emailText.getText(),
+                        new String(passwordText.getPassword()),
+                        fullNameText.getText(),
+                        Integer.parseInt(ageText.getText()),
+                        registerButton);
             }
         });
 
@@ -309,31 +308,27 @@ public class RegisterPage extends JFrame {
             return false;
         }
 
-        // Database insertion
-        try {
-            Connection conn = DatabaseConnection.getConnection();
-            String sql = "INSERT INTO users (username, password, email, full_name, age) VALUES (?, ?, ?, ?, ?)";
-
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, username);
-            pstmt.setString(2, password);  // In a real application, you should hash the password
-            pstmt.setString(3, email);
-            pstmt.setString(4, fullName);
-            pstmt.setInt(5, Integer.parseInt(age));
-
-            int rowsAffected = pstmt.executeUpdate();
+        return true;
+    }
 
-            pstmt.close();
-            conn.close();
+    private void registerUser(String username, String email, String password, String fullName, int age, JButton registerButton) {
+        // Database insertion runs on the data-access executor so the form stays responsive
+        CompletableFuture<User> insert = DataAccess.supply(() ->
+                Repositories.users().register(username, password, email, fullName, age));
 
-            if (rowsAffected > 0) {
+        DataAccess.whileBusy(tasks.track(insert), this, registerButton);
+        DataAccess.onEdt(insert, user -> {
+            if (user != null) {
+                UserSession.setCurrentUser(user);
+                GoalSession.start(user);
                 JOptionPane.showMessageDialog(
                         this,
                         "Registration successful!",
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE
                 );
-                return true;
+                new MainPage();
+                dispose();
             } else {
                 JOptionPane.showMessageDialog(
                         this,
@@ -341,30 +336,32 @@ public class RegisterPage extends JFrame {
                         "Error",
                         JOptionPane.ERROR_MESSAGE
                 );
-                return false;
             }
-
-        } catch (SQLIntegrityConstraintViolationException e) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Username or email already exists!",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-            return false;
-        } catch (SQLException e) {
-            e.printStackTrace();
+        }, error -> {
+            if (error instanceof SQLIntegrityConstraintViolationException) {
+                JOptionPane.showMessageDialog(
+                        this,
+                        "Username or email already exists!",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE
+                );
+                return;
+            }
+            error.printStackTrace();
             JOptionPane.showMessageDialog(
                     this,
-                    "Database error: " + e.getMessage(),
+                    "Database error: " + error.getMessage(),
                     "Error",
                     JOptionPane.ERROR_MESSAGE
             );
-            return false;
-        }
+        });
     }
 
-
+    @Override
+    public void dispose() {
+        tasks.cancelAll();
+        super.dispose();
+    }
 
     public static void main(String[] args) {
         try {
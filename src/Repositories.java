@@ -0,0 +1,29 @@
+// The repositories the app runs against. -Dfitness.repository=memory swaps MySQL for the
+// in-memory implementations, e.g. to benchmark or load-test the pages' logic on its own.
+public final class Repositories {
+    private static final boolean IN_MEMORY = "memory".equalsIgnoreCase(System.getProperty("fitness.repository", "jdbc"));
+
+    private static final UserRepository USERS = IN_MEMORY ? new InMemoryUserRepository() : new JdbcUserRepository();
+    private static final FoodRepository FOODS = IN_MEMORY ? new InMemoryFoodRepository() : new JdbcFoodRepository();
+    private static final GoalRepository GOALS = IN_MEMORY ? new InMemoryGoalRepository() : new JdbcGoalRepository();
+    private static final MealLogRepository MEALS = IN_MEMORY ? new InMemoryMealLogRepository() : new JdbcMealLogRepository();
+
+    private Repositories() {
+    }
+
+    public static UserRepository users() {
+        return USERS;
+    }
+
+    public static FoodRepository foods() {
+        return FOODS;
+    }
+
+    public static GoalRepository goals() {
+        return GOALS;
+    }
+
+    public static MealLogRepository meals() {
+        return MEALS;
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.Arrays;
+
+// Sum of the values added over the last `days` calendar days, in one slot per day reused as the
+// window moves. Memory is fixed by the window length, not by how much history has gone through it.
+// Days are epoch days; a value for a day that has left the window is dropped.
+public class RollingWindow {
+    private final double[] slots;
+    private final long[] slotDays;
+    private long latestDay = Long.MIN_VALUE;
+
+    public RollingWindow(int days) {
+        slots = new double[days];
+        slotDays = new long[days];
+        Arrays.fill(slotDays, Long.MIN_VALUE);
+    }
+
+    public void add(long day, double value) {
+        latestDay = Math.max(latestDay, day);
+        if (day <= latestDay - slots.length) {
+            return;
+        }
+        int slot = (int) Math.floorMod(day, (long) slots.length);
+        if (slotDays[slot] != day) {
+            slotDays[slot] = day;
+            slots[slot] = 0;
+        }
+        slots[slot] += value;
+    }
+
+    // The sum over the window ending on today, inclusive
+    public double sum(long today) {
+        double sum = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (slotDays[i] <= today && slotDays[i] > today - slots.length) {
+                sum += slots[i];
+            }
+        }
+        return sum;
+    }
+
+    // How many days in the window ending on today had anything added
+    public int days(long today) {
+        int days = 0;
+        for (long slotDay : slotDays) {
+            if (slotDay <= today && slotDay > today - slots.length) {
+                days++;
+            }
+        }
+        return days;
+    }
+}
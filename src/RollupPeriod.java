@@ -0,0 +1,45 @@
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+// The periods meal_rollup keeps totals for. code is what's stored in meal_rollup.period.
+public enum RollupPeriod {
+    DAY("D"),
+    // ISO weeks, starting on Monday
+    WEEK("W"),
+    MONTH("M");
+
+    private final String code;
+
+    RollupPeriod(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    // The first day of the period that contains date
+    public LocalDate start(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    // The first day of the period after the one starting on start
+    public LocalDate next(LocalDate start) {
+        switch (this) {
+            case WEEK:
+                return start.plusWeeks(1);
+            case MONTH:
+                return start.plusMonths(1);
+            default:
+                return start.plusDays(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// MacroKernel in plain Java, used when the Vector API isn't available.
+// Full words run as a straight 64-row loop the JIT can unroll; partial words visit only set bits.
+public class ScalarMacroKernel implements MacroKernel {
+    @Override
+    public void sum(int[] calories, float[] protein, float[] carbs, float[] fats, long[] rowMask, FoodCatalog.Totals totals) {
+        int count = 0;
+        long kcal = 0;
+        double proteinSum = 0;
+        double carbsSum = 0;
+        double fatsSum = 0;
+        for (int word = 0; word < rowMask.length; word++) {
+            long bits = rowMask[word];
+            if (bits == 0) {
+                continue;
+            }
+            int base = word << 6;
+            if (bits == -1L) {
+                for (int row = base; row < base + 64; row++) {
+                    kcal += calories[row];
+                    proteinSum += protein[row];
+                    carbsSum += carbs[row];
+                    fatsSum += fats[row];
+                }
+                count += 64;
+                continue;
+            }
+            count += Long.bitCount(bits);
+            while (bits != 0) {
+                int row = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                kcal += calories[row];
+                proteinSum += protein[row];
+                carbsSum += carbs[row];
+                fatsSum += fats[row];
+            }
+        }
+        totals.add(count, kcal, proteinSum, carbsSum, fatsSum);
+    }
+}
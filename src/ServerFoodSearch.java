@@ -0,0 +1,114 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Translates the food search filters into a parameterized query against food_choices, for
+// catalogs too large to ship to the client. Relies on the idx_food_category_calories and
+// ft_food_name_description indexes from fitness_tracker.sql.
+// On MySQL the words of a search match as word prefixes anywhere in the name and description
+// ("chicken bre" finds "Breaded chicken"), which is looser than the page's local search, where the
+// whole text has to appear as written. Words too short for the FULLTEXT index still match as
+// substrings, as they do locally.
+public final class ServerFoodSearch {
+    // Above this many rows the Food Choices page stops loading locally and queries the server
+    public static final int CATALOG_THRESHOLD = Integer.getInteger("fitness.food.serverSideThreshold", 50_000);
+
+    // Maximum rows returned per server-side search
+    public static final int RESULT_LIMIT = Integer.getInteger("fitness.food.serverResultLimit", 500);
+
+    // InnoDB's default innodb_ft_min_token_size; shorter words never reach the FULLTEXT index
+    private static final int MIN_FULLTEXT_TOKEN = 3;
+
+    private ServerFoodSearch() {
+    }
+
+    // Builds the statement for the filters; the caller executes and closes it.
+    // text is the lowercased search text ("" for none), category may be "All Categories".
+    public static PreparedStatement prepare(Connection connection, String text, String category,
+                                            int maxCalories, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT " + FoodItem.COLUMNS + " FROM food_choices WHERE calories <= ?");
+        List<Object> params = new ArrayList<>();
+        params.add(maxCalories);
+
+        if (category != null && !category.equals("All Categories")) {
+            sql.append(" AND category = ?");
+            params.add(category);
+        }
+
+        String trimmed = text.trim();
+        if (!trimmed.isEmpty()) {
+            // The embedded H2 database has no FULLTEXT index
+            List<String> shortWords = new ArrayList<>();
+            String fullText = isMySql(connection) ? toBooleanQuery(trimmed, shortWords) : null;
+            if (fullText != null) {
+                sql.append(" AND MATCH(food_name, description) AGAINST (? IN BOOLEAN MODE)");
+                params.add(fullText);
+                // The index narrows the rows; the words it can't see ("2%" in "2% milk") are checked on those
+                for (String word : shortWords) {
+                    appendLike(sql, params, word);
+                }
+            } else {
+                // Nothing long enough for the FULLTEXT index (or no index at all); a LIKE scan of the category/calorie range
+                appendLike(sql, params, trimmed);
+            }
+        }
+
+        sql.append(" ORDER BY id LIMIT ?");
+        params.add(limit);
+
+        PreparedStatement statement = connection.prepareStatement(sql.toString());
+        try {
+            for (int i = 0; i < params.size(); i++) {
+                Object param = params.get(i);
+                if (param instanceof Integer) {
+                    statement.setInt(i + 1, (Integer) param);
+                } else {
+                    statement.setString(i + 1, (String) param);
+                }
+            }
+            statement.setFetchSize(limit);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return statement;
+    }
+
+    private static void appendLike(StringBuilder sql, List<Object> params, String text) {
+        sql.append(" AND (food_name LIKE ? ESCAPE '!' OR description LIKE ? ESCAPE '!')");
+        String pattern = "%" + escapeLike(text) + "%";
+        params.add(pattern);
+        params.add(pattern);
+    }
+
+    // "chicken bre" -> "+chicken* +bre*": every word required, each as a prefix.
+    // Words too short to be indexed are left out and added, as typed, to shortWords.
+    // Returns null when no word is long enough to be indexed.
+    private static String toBooleanQuery(String text, List<String> shortWords) {
+        StringBuilder query = new StringBuilder();
+        for (String word : text.split("\\s+")) {
+            // Strip boolean-mode operators so user input can't change the query's meaning
+            String cleaned = word.replaceAll("[+\\-<>()~*\"@]", "");
+            if (cleaned.length() < MIN_FULLTEXT_TOKEN) {
+                shortWords.add(word);
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(cleaned).append('*');
+        }
+        return query.length() > 0 ? query.toString() : null;
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,83 @@
+import java.awt.*;
+import java.util.Arrays;
+
+// One line on a TimeSeriesChart: points kept in two primitive arrays, in time order.
+// Years of daily points take a few hundred kilobytes, and charts read the arrays directly.
+public class TimeSeries {
+    private final String name;
+    private final Color color;
+    private long[] times = new long[64]; // epoch millis, non-decreasing
+    private double[] values = new double[64];
+    private int size;
+
+    public TimeSeries(String name, Color color) {
+        this.name = name;
+        this.color = color;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    // Points must arrive in time order
+    public void add(long time, double value) {
+        if (size > 0 && time < times[size - 1]) {
+            throw new IllegalArgumentException("Point at " + time + " is older than the last point of " + name);
+        }
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        times[size] = time;
+        values[size] = value;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getTime(int index) {
+        return times[index];
+    }
+
+    public double getValue(int index) {
+        return values[index];
+    }
+
+    // Index of the first point at or after time (size if there is none)
+    public int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The backing arrays, valid up to size(); for the chart engine, which must not modify them
+    long[] times() {
+        return times;
+    }
+
+    double[] values() {
+        return values;
+    }
+}
@@ -0,0 +1,635 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Line chart of one or more TimeSeries, drawn with plain Java2D.
+// Before drawing, each series is cut to the visible time window and downsampled to the plot's
+// width in pixels, so a frame costs the same whether a series holds a month or ten years of points.
+//
+// The chart is drawn in two cached layers: the axes layer (background, title, gridlines, labels,
+// legend) and the series layer (the lines). Both are redrawn only when the size, the window or
+// the data changes. New data that leaves the axes as they were redraws only the series layer.
+// The layers are then flattened into one opaque image. Every other paint (hover, expose, a
+// parent's repaint) is a single copy of that image plus the hover crosshair and tooltip on top,
+// and hover repaints only the area the overlay covered before and covers now.
+public class TimeSeriesChart extends JComponent {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Tick spacings tried for the time axis, smallest first
+    private static final long[] TIME_STEPS = {
+            DAY_MILLIS, 2 * DAY_MILLIS, 7 * DAY_MILLIS, 14 * DAY_MILLIS, 30 * DAY_MILLIS,
+            91 * DAY_MILLIS, 182 * DAY_MILLIS, 365 * DAY_MILLIS, 730 * DAY_MILLIS, 1825 * DAY_MILLIS
+    };
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("MMM d");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMM yyyy");
+    private static final DateTimeFormatter YEAR_FORMAT = DateTimeFormatter.ofPattern("yyyy");
+    private static final DateTimeFormatter HOVER_FORMAT = DateTimeFormatter.ofPattern("EEE, MMM d yyyy");
+
+    private static final Color GRID_COLOR = new Color(225, 232, 240);
+    private static final Color AXIS_COLOR = new Color(120, 130, 140);
+    private static final Color CROSSHAIR_COLOR = new Color(120, 130, 140, 160);
+    private static final Color TOOLTIP_COLOR = new Color(255, 255, 255, 235);
+    private static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 16);
+    private static final Font LABEL_FONT = new Font("Segoe UI", Font.PLAIN, 12);
+    private static final Insets PLOT_INSETS = new Insets(40, 60, 40, 20);
+    private static final Stroke SERIES_STROKE = new BasicStroke(1.6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+
+    private final String title;
+    private final String unit;
+    private final List<TimeSeries> series = new ArrayList<>();
+    private Downsampler.Mode mode = Downsampler.Mode.LTTB;
+    private boolean includeZero = true;
+    private String emptyMessage = "No data yet";
+    // Left edge of the visible window in epoch millis, or null to show everything
+    private Long windowStart;
+    private int[] scratch = new int[0];
+
+    // Cached layers, drawn at the device scale they were last painted with
+    private BufferedImage axesLayer;
+    private BufferedImage seriesLayer;
+    private BufferedImage flattened;
+    private double layerScale;
+    private boolean axesValid;
+    private boolean seriesValid;
+    // What the layers show; null until computed, or when there is nothing to show
+    private Frame frame;
+    private boolean frameValid;
+
+    private Hover hover;
+
+    public TimeSeriesChart(String title, String unit) {
+        this.title = title;
+        this.unit = unit;
+        setPreferredSize(new Dimension(700, 320));
+        setBackground(Color.WHITE);
+        setOpaque(true);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHover(hoverAt(e.getX(), e.getY()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHover(null);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public void addSeries(TimeSeries timeSeries) {
+        series.add(timeSeries);
+        invalidateLayers();
+    }
+
+    public void clearSeries() {
+        series.clear();
+        invalidateLayers();
+    }
+
+    public void setMode(Downsampler.Mode mode) {
+        this.mode = mode;
+        invalidateLayers();
+    }
+
+    // Whether the value axis always starts at zero
+    public void setIncludeZero(boolean includeZero) {
+        this.includeZero = includeZero;
+        invalidateLayers();
+    }
+
+    public void setEmptyMessage(String emptyMessage) {
+        this.emptyMessage = emptyMessage;
+        axesValid = false;
+        repaint();
+    }
+
+    public void setWindowStart(Long windowStart) {
+        this.windowStart = windowStart;
+        invalidateLayers();
+    }
+
+    // Call after adding points to a series. The axes layer is kept if the axes don't change.
+    public void dataChanged() {
+        frameValid = false;
+        seriesValid = false;
+        setHover(null);
+        repaint();
+    }
+
+    private void invalidateLayers() {
+        frameValid = false;
+        axesValid = false;
+        seriesValid = false;
+        setHover(null);
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            updateLayers(g.getTransform().getScaleX(), width, height);
+            g.drawImage(flattened, 0, 0, width, height, null);
+            if (hover != null) {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                paintHover(g, hover);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    // Redraws whichever layers are out of date
+    private void updateLayers(double scale, int width, int height) {
+        int pixelWidth = (int) Math.ceil(width * scale);
+        int pixelHeight = (int) Math.ceil(height * scale);
+        if (axesLayer == null || scale != layerScale
+                || axesLayer.getWidth() != pixelWidth || axesLayer.getHeight() != pixelHeight) {
+            axesLayer = createLayer(pixelWidth, pixelHeight, Transparency.OPAQUE);
+            seriesLayer = createLayer(pixelWidth, pixelHeight, Transparency.TRANSLUCENT);
+            flattened = createLayer(pixelWidth, pixelHeight, Transparency.OPAQUE);
+            layerScale = scale;
+            frameValid = false;
+            axesValid = false;
+            seriesValid = false;
+        }
+
+        if (!frameValid) {
+            Frame previous = frame;
+            frame = computeFrame(plotArea(width, height));
+            frameValid = true;
+            seriesValid = false;
+            if (previous == null || frame == null || !previous.sameAxes(frame)) {
+                axesValid = false;
+            }
+        }
+
+        if (axesValid && seriesValid) {
+            return;
+        }
+        if (!axesValid) {
+            Graphics2D g = layerGraphics(axesLayer, scale);
+            try {
+                g.setColor(getBackground());
+                g.fillRect(0, 0, width, height);
+                paintAxesLayer(g, width, height);
+            } finally {
+                g.dispose();
+            }
+            axesValid = true;
+        }
+
+        if (!seriesValid) {
+            Graphics2D g = layerGraphics(seriesLayer, scale);
+            try {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, width, height);
+                g.setComposite(AlphaComposite.SrcOver);
+                if (frame != null) {
+                    paintSeriesLayer(g);
+                }
+            } finally {
+                g.dispose();
+            }
+            seriesValid = true;
+        }
+
+        Graphics2D g = flattened.createGraphics();
+        try {
+            g.drawImage(axesLayer, 0, 0, null);
+            g.drawImage(seriesLayer, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    // A compatible image when the component is on screen, so the copy each frame can be accelerated
+    private BufferedImage createLayer(int width, int height, int transparency) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration != null) {
+            return configuration.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static Graphics2D layerGraphics(BufferedImage layer, double scale) {
+        Graphics2D g = layer.createGraphics();
+        g.scale(scale, scale);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        return g;
+    }
+
+    private static Rectangle plotArea(int width, int height) {
+        return new Rectangle(PLOT_INSETS.left, PLOT_INSETS.top,
+                width - PLOT_INSETS.left - PLOT_INSETS.right,
+                height - PLOT_INSETS.top - PLOT_INSETS.bottom);
+    }
+
+    // What the layers show: the plot area, the time and value ranges, and the downsampled points
+    private static final class Frame {
+        Rectangle plot;
+        long minTime;
+        long maxTime;
+        double minValue = Double.POSITIVE_INFINITY;
+        double maxValue = Double.NEGATIVE_INFINITY;
+        double valueStep;
+        int[][] picked;
+
+        boolean sameAxes(Frame other) {
+            return plot.equals(other.plot) && minTime == other.minTime && maxTime == other.maxTime
+                    && minValue == other.minValue && maxValue == other.maxValue && valueStep == other.valueStep;
+        }
+
+        double x(long time) {
+            return plot.x + (double) (time - minTime) / Math.max(1, maxTime - minTime) * plot.width;
+        }
+
+        double y(double value) {
+            return plot.y + plot.height - (value - minValue) / (maxValue - minValue) * plot.height;
+        }
+
+        long timeAt(int x) {
+            return minTime + Math.round((double) (x - plot.x) / plot.width * (maxTime - minTime));
+        }
+    }
+
+    // Null when the plot is too small or no series has a point in the window
+    private Frame computeFrame(Rectangle plot) {
+        if (plot.width < 10 || plot.height < 10) {
+            return null;
+        }
+        Frame frame = new Frame();
+        frame.plot = plot;
+        frame.minTime = Long.MAX_VALUE;
+        frame.maxTime = Long.MIN_VALUE;
+        for (TimeSeries timeSeries : series) {
+            if (!timeSeries.isEmpty()) {
+                frame.minTime = Math.min(frame.minTime, timeSeries.getTime(0));
+                frame.maxTime = Math.max(frame.maxTime, timeSeries.getTime(timeSeries.size() - 1));
+            }
+        }
+        if (frame.minTime == Long.MAX_VALUE) {
+            return null;
+        }
+        if (windowStart != null) {
+            frame.minTime = windowStart;
+            frame.maxTime = Math.max(frame.maxTime, windowStart + DAY_MILLIS);
+        }
+
+        int capacity = Downsampler.capacity(mode, plot.width) + 2;
+        if (scratch.length < capacity) {
+            scratch = new int[capacity];
+        }
+        frame.picked = new int[series.size()][];
+        boolean any = false;
+        for (int s = 0; s < series.size(); s++) {
+            TimeSeries timeSeries = series.get(s);
+            // One point beyond each edge, so lines run off the plot instead of stopping short
+            int from = Math.max(0, timeSeries.lowerBound(frame.minTime) - 1);
+            int to = Math.min(timeSeries.size(), timeSeries.lowerBound(frame.maxTime + 1) + 1);
+            int count = Downsampler.downsample(mode, timeSeries.times(), timeSeries.values(), from, to, plot.width, scratch);
+            int[] picked = Arrays.copyOf(scratch, count);
+            frame.picked[s] = picked;
+            for (int index : picked) {
+                long time = timeSeries.getTime(index);
+                if (time >= frame.minTime && time <= frame.maxTime) {
+                    double value = timeSeries.getValue(index);
+                    frame.minValue = Math.min(frame.minValue, value);
+                    frame.maxValue = Math.max(frame.maxValue, value);
+                    any = true;
+                }
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        if (includeZero) {
+            frame.minValue = Math.min(0, frame.minValue);
+            frame.maxValue = Math.max(0, frame.maxValue);
+        }
+        if (frame.maxValue - frame.minValue < 1e-9) {
+            frame.maxValue += 1;
+            frame.minValue -= includeZero && frame.minValue >= 0 ? 0 : 1;
+        }
+
+        // Value axis: about one gridline per 50 pixels, at round numbers
+        frame.valueStep = niceStep((frame.maxValue - frame.minValue) / Math.max(2, plot.height / 50));
+        frame.minValue = Math.floor(frame.minValue / frame.valueStep) * frame.valueStep;
+        frame.maxValue = Math.ceil(frame.maxValue / frame.valueStep) * frame.valueStep;
+        return frame;
+    }
+
+    private void paintAxesLayer(Graphics2D g, int width, int height) {
+        g.setFont(TITLE_FONT);
+        g.setColor(AXIS_COLOR.darker());
+        g.drawString(title, PLOT_INSETS.left, 24);
+
+        if (frame == null) {
+            Rectangle plot = plotArea(width, height);
+            g.setFont(LABEL_FONT);
+            g.setColor(AXIS_COLOR);
+            FontMetrics metrics = g.getFontMetrics();
+            g.drawString(emptyMessage, plot.x + (plot.width - metrics.stringWidth(emptyMessage)) / 2,
+                    plot.y + plot.height / 2);
+            return;
+        }
+
+        paintGridAndAxes(g, frame);
+        paintLegend(g, frame.plot);
+    }
+
+    private void paintGridAndAxes(Graphics2D g, Frame frame) {
+        Rectangle plot = frame.plot;
+        g.setFont(LABEL_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+
+        double step = frame.valueStep;
+        for (double value = frame.minValue; value <= frame.maxValue + step / 2; value += step) {
+            int y = (int) Math.round(frame.y(value));
+            g.setColor(GRID_COLOR);
+            g.drawLine(plot.x, y, plot.x + plot.width, y);
+            String label = formatValue(value, step);
+            g.setColor(AXIS_COLOR);
+            g.drawString(label, plot.x - 6 - metrics.stringWidth(label), y + metrics.getAscent() / 2 - 1);
+        }
+
+        // Time axis: the smallest calendar-ish spacing that leaves ~90 pixels per label
+        long span = frame.maxTime - frame.minTime;
+        long timeStep = TIME_STEPS[TIME_STEPS.length - 1];
+        for (long candidate : TIME_STEPS) {
+            if ((double) span / candidate <= plot.width / 90.0) {
+                timeStep = candidate;
+                break;
+            }
+        }
+        DateTimeFormatter format = timeStep >= 365 * DAY_MILLIS ? YEAR_FORMAT
+                : timeStep >= 30 * DAY_MILLIS ? MONTH_FORMAT : DAY_FORMAT;
+        // Ticks fall on local midnights. Steps of a month or more land on the first of a month,
+        // quarter or year (whole months counted from year 0, so 2- and 5-year steps land on years
+        // divisible by 2 and 5), so the month and year labels name the tick they sit on; shorter
+        // steps are every stepDays days counted from the epoch.
+        ZoneId zone = ZoneId.systemDefault();
+        long stepDays = timeStep / DAY_MILLIS;
+        int stepMonths = stepDays >= 30 ? (int) Math.round(stepDays / 30.4375) : 0;
+        LocalDate firstDay = Instant.ofEpochMilli(frame.minTime).atZone(zone).toLocalDate();
+        LocalDate tick;
+        if (stepMonths > 0) {
+            long month = firstDay.getYear() * 12L + firstDay.getMonthValue() - 1 + (firstDay.getDayOfMonth() > 1 ? 1 : 0);
+            month = Math.floorDiv(month + stepMonths - 1, stepMonths) * stepMonths;
+            tick = LocalDate.of((int) Math.floorDiv(month, 12), (int) Math.floorMod(month, 12) + 1, 1);
+        } else {
+            tick = LocalDate.ofEpochDay(Math.floorDiv(firstDay.toEpochDay() + stepDays - 1, stepDays) * stepDays);
+        }
+        for (; ; tick = stepMonths > 0 ? tick.plusMonths(stepMonths) : tick.plusDays(stepDays)) {
+            long time = tick.atStartOfDay(zone).toInstant().toEpochMilli();
+            if (time > frame.maxTime) {
+                break;
+            }
+            if (time < frame.minTime) {
+                continue;
+            }
+            int x = (int) Math.round(frame.x(time));
+            g.setColor(GRID_COLOR);
+            g.drawLine(x, plot.y, x, plot.y + plot.height);
+            String label = format.format(Instant.ofEpochMilli(time).atZone(zone));
+            g.setColor(AXIS_COLOR);
+            g.drawString(label, x - metrics.stringWidth(label) / 2, plot.y + plot.height + metrics.getAscent() + 6);
+        }
+
+        g.setColor(AXIS_COLOR);
+        g.drawLine(plot.x, plot.y + plot.height, plot.x + plot.width, plot.y + plot.height);
+        g.drawLine(plot.x, plot.y, plot.x, plot.y + plot.height);
+        if (unit != null) {
+            g.drawString(unit, plot.x - 6 - metrics.stringWidth(unit), plot.y - 8);
+        }
+    }
+
+    private void paintSeriesLayer(Graphics2D g) {
+        Rectangle plot = frame.plot;
+        g.clipRect(plot.x, plot.y, plot.width + 1, plot.height + 1);
+        g.setStroke(SERIES_STROKE);
+        for (int s = 0; s < series.size(); s++) {
+            paintSeries(g, series.get(s), frame.picked[s]);
+        }
+    }
+
+    private void paintSeries(Graphics2D g, TimeSeries timeSeries, int[] picked) {
+        if (picked.length == 0) {
+            return;
+        }
+        g.setColor(timeSeries.getColor());
+        if (picked.length == 1) {
+            int x = (int) Math.round(frame.x(timeSeries.getTime(picked[0])));
+            int y = (int) Math.round(frame.y(timeSeries.getValue(picked[0])));
+            g.fillOval(x - 3, y - 3, 6, 6);
+            return;
+        }
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, picked.length);
+        for (int i = 0; i < picked.length; i++) {
+            float x = (float) frame.x(timeSeries.getTime(picked[i]));
+            float y = (float) frame.y(timeSeries.getValue(picked[i]));
+            if (i == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        g.draw(path);
+    }
+
+    private void paintLegend(Graphics2D g, Rectangle plot) {
+        if (series.size() < 2) {
+            return;
+        }
+        g.setFont(LABEL_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int x = plot.x + plot.width;
+        for (int s = series.size() - 1; s >= 0; s--) {
+            TimeSeries timeSeries = series.get(s);
+            x -= metrics.stringWidth(timeSeries.getName());
+            g.setColor(AXIS_COLOR.darker());
+            g.drawString(timeSeries.getName(), x, 24);
+            x -= 16;
+            g.setColor(timeSeries.getColor());
+            g.fillRect(x, 24 - 9, 10, 10);
+            x -= 14;
+        }
+    }
+
+    // The crosshair and tooltip for one mouse position, laid out once when the mouse moves
+    private static final class Hover {
+        int x;
+        int[] dotY;
+        Color[] dotColor;
+        String[] lines;
+        Rectangle tooltip;
+        // Everything the overlay paints, so moving it repaints just this much
+        Rectangle bounds;
+    }
+
+    private void setHover(Hover next) {
+        if (hover != null) {
+            repaint(hover.bounds);
+        }
+        hover = next;
+        if (hover != null) {
+            repaint(hover.bounds);
+        }
+    }
+
+    // Snaps to the drawn point nearest the mouse, then shows every series' value at that time.
+    // Uses the downsampled points, so each lookup is a binary search over at most a few pixels' worth.
+    private Hover hoverAt(int mouseX, int mouseY) {
+        if (!frameValid || frame == null || !frame.plot.contains(mouseX, mouseY)) {
+            return null;
+        }
+        long mouseTime = frame.timeAt(mouseX);
+        long snapTime = 0;
+        long bestDistance = Long.MAX_VALUE;
+        for (int s = 0; s < series.size(); s++) {
+            int index = nearest(series.get(s), frame.picked[s], mouseTime);
+            if (index >= 0) {
+                long time = series.get(s).getTime(index);
+                long distance = Math.abs(time - mouseTime);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    snapTime = time;
+                }
+            }
+        }
+        if (bestDistance == Long.MAX_VALUE) {
+            return null;
+        }
+
+        Hover next = new Hover();
+        next.x = (int) Math.round(frame.x(snapTime));
+        List<String> lines = new ArrayList<>();
+        lines.add(HOVER_FORMAT.format(Instant.ofEpochMilli(snapTime).atZone(ZoneId.systemDefault())));
+        List<Integer> dots = new ArrayList<>();
+        List<Color> colors = new ArrayList<>();
+        for (int s = 0; s < series.size(); s++) {
+            TimeSeries timeSeries = series.get(s);
+            int index = nearest(timeSeries, frame.picked[s], snapTime);
+            if (index < 0 || timeSeries.getTime(index) != snapTime) {
+                continue;
+            }
+            double value = timeSeries.getValue(index);
+            dots.add((int) Math.round(frame.y(value)));
+            colors.add(timeSeries.getColor());
+            lines.add(timeSeries.getName() + ": " + formatValue(value, frame.valueStep / 10)
+                    + (unit != null ? " " + unit : ""));
+        }
+        next.dotY = dots.stream().mapToInt(Integer::intValue).toArray();
+        next.dotColor = colors.toArray(new Color[0]);
+        next.lines = lines.toArray(new String[0]);
+
+        FontMetrics metrics = getFontMetrics(LABEL_FONT);
+        int textWidth = 0;
+        for (String line : next.lines) {
+            textWidth = Math.max(textWidth, metrics.stringWidth(line));
+        }
+        int boxWidth = textWidth + 16;
+        int boxHeight = next.lines.length * metrics.getHeight() + 10;
+        int boxX = next.x + 12 + boxWidth <= frame.plot.x + frame.plot.width ? next.x + 12 : next.x - 12 - boxWidth;
+        int boxY = Math.max(frame.plot.y, Math.min(mouseY - boxHeight / 2, frame.plot.y + frame.plot.height - boxHeight));
+        next.tooltip = new Rectangle(boxX, boxY, boxWidth, boxHeight);
+
+        Rectangle bounds = new Rectangle(next.x - 1, frame.plot.y, 3, frame.plot.height + 1);
+        for (int y : next.dotY) {
+            bounds.add(new Rectangle(next.x - 5, y - 5, 11, 11));
+        }
+        bounds.add(next.tooltip);
+        bounds.grow(2, 2);
+        next.bounds = bounds;
+        return next;
+    }
+
+    // Index into the series of the downsampled point closest in time, or -1 if there are none
+    private static int nearest(TimeSeries timeSeries, int[] picked, long time) {
+        if (picked.length == 0) {
+            return -1;
+        }
+        int low = 0;
+        int high = picked.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timeSeries.getTime(picked[mid]) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == picked.length) {
+            return picked[low - 1];
+        }
+        if (low > 0 && time - timeSeries.getTime(picked[low - 1]) < timeSeries.getTime(picked[low]) - time) {
+            return picked[low - 1];
+        }
+        return picked[low];
+    }
+
+    private void paintHover(Graphics2D g, Hover hover) {
+        Rectangle plot = frame.plot;
+        g.setColor(CROSSHAIR_COLOR);
+        g.drawLine(hover.x, plot.y, hover.x, plot.y + plot.height);
+        for (int i = 0; i < hover.dotY.length; i++) {
+            g.setColor(Color.WHITE);
+            g.fillOval(hover.x - 5, hover.dotY[i] - 5, 10, 10);
+            g.setColor(hover.dotColor[i]);
+            g.fillOval(hover.x - 3, hover.dotY[i] - 3, 6, 6);
+        }
+
+        Rectangle box = hover.tooltip;
+        g.setColor(TOOLTIP_COLOR);
+        g.fillRoundRect(box.x, box.y, box.width, box.height, 8, 8);
+        g.setColor(GRID_COLOR.darker());
+        g.drawRoundRect(box.x, box.y, box.width - 1, box.height - 1, 8, 8);
+        g.setFont(LABEL_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int y = box.y + 5 + metrics.getAscent();
+        for (int i = 0; i < hover.lines.length; i++) {
+            g.setColor(i == 0 ? AXIS_COLOR.darker() : AXIS_COLOR);
+            g.drawString(hover.lines[i], box.x + 8, y);
+            y += metrics.getHeight();
+        }
+    }
+
+    // 1, 2 or 5 times a power of ten, at least the given raw step
+    static double niceStep(double raw) {
+        if (raw <= 0 || Double.isNaN(raw) || Double.isInfinite(raw)) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double fraction = raw / magnitude;
+        double nice = fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10;
+        return nice * magnitude;
+    }
+
+    private static String formatValue(double value, double step) {
+        if (step >= 1) {
+            return String.format("%,.0f", value);
+        }
+        int decimals = Math.min(3, (int) Math.ceil(-Math.log10(step)));
+        return String.format("%." + decimals + "f", value);
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Hashed timing wheel (Varghese & Lauck) for large numbers of far-off, often cancelled timers
+// such as goal reminders. A ring of slots holds doubly linked lists of timeouts; a timeout due more
+// than one revolution away waits in its slot with a count of remaining rounds. Scheduling and
+// cancelling are O(1), and each tick only looks at one slot.
+// Ticks are fixed points on the wall clock (start + n * tick) rather than sleeps added end to end,
+// so the wheel doesn't drift, and after the machine wakes from sleep it catches up on the ticks it
+// missed. The worker thread waits without ticking while nothing is scheduled.
+// Tasks run on the wheel's thread and must be short; hand real work to another thread.
+public final class TimingWheel {
+    // Reminders are set for a time of day, so the shared wheel ticks once a minute: firing up to a
+    // minute late costs nothing, and the thread isn't woken every second all day
+    private static final TimingWheel SHARED = new TimingWheel(
+            Long.getLong("fitness.reminders.tickMs", 60_000), Integer.getInteger("fitness.reminders.wheelSize", 4096));
+
+    private final long tickMillis;
+    private final Timeout[] slots;
+    private final int mask;
+    private final long startMillis;
+    // Next tick to process
+    private long tick;
+    private int pending;
+    private Thread worker;
+
+    // wheelSize is rounded up to a power of two
+    public TimingWheel(long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new Timeout[size];
+        this.mask = size - 1;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    public static TimingWheel shared() {
+        return SHARED;
+    }
+
+    // Runs the task on the wheel thread at, or up to one tick after, the given epoch millis.
+    // A deadline in the past fires on the next tick.
+    public synchronized Timeout schedule(long deadlineMillis, Runnable task) {
+        if (pending == 0) {
+            // Skip the ticks that passed while idle instead of catching up on them
+            tick = Math.max(tick, currentTick());
+        }
+        long dueTick = Math.max(tick, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        Timeout timeout = new Timeout(this, deadlineMillis, task);
+        timeout.rounds = (dueTick - tick) / slots.length;
+        link(timeout, (int) (dueTick & mask));
+        pending++;
+
+        if (worker == null) {
+            worker = new Thread(this::run, "timing-wheel");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        notifyAll();
+        return timeout;
+    }
+
+    public synchronized int size() {
+        return pending;
+    }
+
+    private synchronized boolean cancel(Timeout timeout) {
+        if (timeout.slot < 0) {
+            return false;
+        }
+        unlink(timeout);
+        pending--;
+        return true;
+    }
+
+    private void run() {
+        List<Timeout> due = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                try {
+                    while (pending == 0) {
+                        wait();
+                    }
+                    long wait = startMillis + tick * tickMillis - System.currentTimeMillis();
+                    if (wait > 0) {
+                        wait(wait);
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                expire((int) (tick & mask), due);
+                tick++;
+            }
+
+            for (Timeout timeout : due) {
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Timer task failed: " + e);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(System.currentTimeMillis() - startMillis, tickMillis);
+    }
+
+    // Takes the slot's timeouts that are due this revolution; the rest move one round closer
+    private void expire(int slot, List<Timeout> due) {
+        Timeout timeout = slots[slot];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.rounds == 0) {
+                unlink(timeout);
+                pending--;
+                due.add(timeout);
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    private void link(Timeout timeout, int slot) {
+        timeout.slot = slot;
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slot = -1;
+    }
+
+    // A scheduled task. Guarded by the wheel's lock.
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final long deadlineMillis;
+        private final Runnable task;
+        private long rounds;
+        private int slot = -1;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(TimingWheel wheel, long deadlineMillis, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineMillis = deadlineMillis;
+            this.task = task;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        // False if the task already ran or was cancelled
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram inverted index for case-insensitive substring search.
+// Each document is identified by an int id (the food_choices id) and may have several
+// text fields; a query matches when it is a substring of any one field.
+public class TrigramIndex {
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Integer, String> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Adds or replaces the document with the given id
+    public void put(int id, String... fields) {
+        String text = normalize(fields);
+        lock.writeLock().lock();
+        try {
+            String previous = documents.put(id, text);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    removePosting(gram, id);
+                }
+            }
+            for (long gram : grams(text)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String previous = documents.remove(id);
+            if (previous != null) {
+                for (long gram : grams(previous)) {
+                    removePosting(gram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the ids of all documents containing the (already lowercased) query, in ascending order
+    public int[] search(String query) {
+        lock.readLock().lock();
+        try {
+            if (query.indexOf(FIELD_SEPARATOR) >= 0) {
+                return new int[0];
+            }
+            if (query.length() < GRAM) {
+                return scan(query);
+            }
+
+            // Intersect the posting lists, smallest first, so the work is bounded by the rarest trigram
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : grams(query)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = intersect(candidates, count, lists.get(i));
+            }
+
+            // Sharing every trigram doesn't guarantee a contiguous match, so confirm each candidate
+            int matches = 0;
+            for (int i = 0; i < count; i++) {
+                int id = candidates[i];
+                if (documents.get(id).contains(query)) {
+                    candidates[matches++] = id;
+                }
+            }
+            return Arrays.copyOf(candidates, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Queries shorter than a trigram can't use the postings; fall back to scanning the stored text
+    private int[] scan(String query) {
+        int[] ids = new int[documents.size()];
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : documents.entrySet()) {
+            if (entry.getValue().contains(query)) {
+                ids[count++] = entry.getKey();
+            }
+        }
+        ids = Arrays.copyOf(ids, count);
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    // Keeps the ids in candidates[0..count) that also appear in the posting list; returns the new count
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < list.size; i++) {
+            int id = candidates[i];
+            while (j < list.size && list.ids[j] < id) {
+                j++;
+            }
+            if (j < list.size && list.ids[j] == id) {
+                candidates[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    private void removePosting(long gram, int id) {
+        Postings list = postings.get(gram);
+        if (list != null && list.remove(id) && list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private static String normalize(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (text.length() > 0) {
+                text.append(FIELD_SEPARATOR);
+            }
+            if (field != null) {
+                text.append(field.toLowerCase());
+            }
+        }
+        return text.toString();
+    }
+
+    // Distinct trigrams of the text, three UTF-16 chars packed into a long.
+    // Trigrams spanning the field separator are skipped so matches stay inside one field.
+    private static Set<Long> grams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            char a = text.charAt(i);
+            char b = text.charAt(i + 1);
+            char c = text.charAt(i + 2);
+            if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams.add(((long) a << 32) | ((long) b << 16) | c);
+        }
+        return grams;
+    }
+
+    // Sorted, growable int array of document ids
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            // Ids usually arrive in ascending order (keyset loads, new inserts), so appending is the fast path
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// A row of the users table, without the password
+public class User {
+    private final int id;
+    private final String username;
+    private final String email;
+    private final String fullName;
+    private final int age;
+
+    public User(int id, String username, String email, String fullName, int age) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.age = age;
+    }
+
+    public int getId() { return id; }
+    public String getUsername() { return username; }
+    public String getEmail() { return email; }
+    public String getFullName() { return fullName; }
+    public int getAge() { return age; }
+}
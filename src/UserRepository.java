@@ -0,0 +1,13 @@
+import java.sql.SQLException;
+
+// Access to the users table
+public interface UserRepository {
+    // The user with these credentials, or null if there is none
+    User authenticate(String username, String password) throws SQLException;
+
+    // Throws SQLIntegrityConstraintViolationException when the username or email is already taken
+    User register(String username, String password, String email, String fullName, int age) throws SQLException;
+
+    // The user with this username, or null
+    User findByUsername(String username) throws SQLException;
+}
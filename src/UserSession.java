@@ -0,0 +1,15 @@
+// The user who logged in, for pages that show per-user data
+public final class UserSession {
+    private static volatile User currentUser;
+
+    private UserSession() {
+    }
+
+    public static User getCurrentUser() {
+        return currentUser;
+    }
+
+    public static void setCurrentUser(User user) {
+        currentUser = user;
+    }
+}